@@ -459,10 +459,10 @@ public class GameFrame extends JFrame {
                     results.append(String.format("  Move: %s\n", move));
                     results.append(String.format("  Evaluation: %+d\n", evaluation));
                     results.append(String.format("  Time: %dms\n", searchTime));
-                    results.append(String.format("  Nodes: %d\n\n", Minimax.counter));
+                    results.append(String.format("  Nodes: %d\n\n", SearchContext.current().nodes));
 
                     System.out.printf("%s: Move=%s, Eval=%+d, Time=%dms, Nodes=%d\n",
-                            strategy, move, evaluation, searchTime, Minimax.counter);
+                            strategy, move, evaluation, searchTime, SearchContext.current().nodes);
                 }
 
                 SwingUtilities.invokeLater(() -> {
@@ -0,0 +1,165 @@
+package GaT;
+
+import GaT.Objects.GameState;
+
+import java.util.Arrays;
+
+/**
+ * Squares attacked by each side in one position.
+ *
+ * A guard attacks its orthogonal neighbours, a tower of height h every square
+ * up to h steps along its rank and file, where a ray stops at the first
+ * occupied square (that square is still attacked).
+ *
+ * Every search context keeps the map of the last position it was asked for, so
+ * evaluation, move ordering and quiescence of the same node share one
+ * computation. The returned map is only valid until the next call for another
+ * position.
+ */
+public final class AttackMap {
+
+    // RAYS[square][direction] = squares in that direction, nearest first
+    private static final int[][][] RAYS = new int[GameState.NUM_SQUARES][4][];
+
+    static {
+        int[] rankStep = {1, -1, 0, 0};
+        int[] fileStep = {0, 0, 1, -1};
+        for (int square = 0; square < GameState.NUM_SQUARES; square++) {
+            for (int dir = 0; dir < 4; dir++) {
+                int[] ray = new int[GameState.BOARD_SIZE - 1];
+                int length = 0;
+                int r = GameState.rank(square) + rankStep[dir];
+                int f = GameState.file(square) + fileStep[dir];
+                while (r >= 0 && r < GameState.BOARD_SIZE && f >= 0 && f < GameState.BOARD_SIZE) {
+                    ray[length++] = GameState.getIndex(r, f);
+                    r += rankStep[dir];
+                    f += fileStep[dir];
+                }
+                RAYS[square][dir] = Arrays.copyOf(ray, length);
+            }
+        }
+    }
+
+    private long redAttacks;
+    private long blueAttacks;
+
+    // Position the map was computed for
+    private long redTowers = -1;
+    private long blueTowers = -1;
+    private long redGuard = -1;
+    private long blueGuard = -1;
+    private final int[] redHeights = new int[GameState.NUM_SQUARES];
+    private final int[] blueHeights = new int[GameState.NUM_SQUARES];
+
+    /**
+     * @return attack map of state, taken from the cache of the current search context if possible
+     */
+    public static AttackMap of(GameState state) {
+        AttackMap map = SearchContext.current().attackMap;
+        if (!map.matches(state)) {
+            map.compute(state);
+        }
+        return map;
+    }
+
+    /**
+     * @return bitboard of the squares attacked by the given side
+     */
+    public long attacks(boolean red) {
+        return red ? redAttacks : blueAttacks;
+    }
+
+    public boolean isAttacked(int square, boolean byRed) {
+        return (attacks(byRed) & GameState.bit(square)) != 0;
+    }
+
+    /**
+     * @return true if the guard of the given side stands on a square the opponent attacks
+     */
+    public boolean isGuardAttacked(boolean red) {
+        long guard = red ? redGuard : blueGuard;
+        return (guard & attacks(!red)) != 0;
+    }
+
+    /**
+     * Single-square test without building a map: walks the four rays from square
+     * to the first piece, which attacks square if it belongs to the given side and reaches it
+     */
+    public static boolean isSquareAttacked(GameState state, int square, boolean byRed) {
+        long occupied = state.redTowers | state.blueTowers | state.redGuard | state.blueGuard;
+        long towers = byRed ? state.redTowers : state.blueTowers;
+        long guard = byRed ? state.redGuard : state.blueGuard;
+        int[] heights = byRed ? state.redStackHeights : state.blueStackHeights;
+
+        for (int[] ray : RAYS[square]) {
+            for (int i = 0; i < ray.length; i++) {
+                long piece = GameState.bit(ray[i]);
+                if ((occupied & piece) == 0) continue;
+
+                int distance = i + 1;
+                if ((towers & piece) != 0 && heights[ray[i]] >= distance) return true;
+                if ((guard & piece) != 0 && distance == 1) return true;
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the guard of the given side is attacked, without building a map
+     */
+    public static boolean isGuardAttacked(GameState state, boolean red) {
+        long guard = red ? state.redGuard : state.blueGuard;
+        return guard != 0 && isSquareAttacked(state, Long.numberOfTrailingZeros(guard), !red);
+    }
+
+    private boolean matches(GameState state) {
+        return state.redTowers == redTowers && state.blueTowers == blueTowers
+                && state.redGuard == redGuard && state.blueGuard == blueGuard
+                && Arrays.equals(state.redStackHeights, redHeights)
+                && Arrays.equals(state.blueStackHeights, blueHeights);
+    }
+
+    private void compute(GameState state) {
+        redTowers = state.redTowers;
+        blueTowers = state.blueTowers;
+        redGuard = state.redGuard;
+        blueGuard = state.blueGuard;
+        System.arraycopy(state.redStackHeights, 0, redHeights, 0, GameState.NUM_SQUARES);
+        System.arraycopy(state.blueStackHeights, 0, blueHeights, 0, GameState.NUM_SQUARES);
+
+        long occupied = redTowers | blueTowers | redGuard | blueGuard;
+        redAttacks = sideAttacks(redTowers, redGuard, redHeights, occupied);
+        blueAttacks = sideAttacks(blueTowers, blueGuard, blueHeights, occupied);
+    }
+
+    private static long sideAttacks(long towers, long guard, int[] heights, long occupied) {
+        long attacks = 0;
+
+        while (towers != 0) {
+            int square = Long.numberOfTrailingZeros(towers);
+            towers &= towers - 1;
+            attacks |= rays(square, heights[square], occupied);
+        }
+        if (guard != 0) {
+            attacks |= rays(Long.numberOfTrailingZeros(guard), 1, occupied);
+        }
+        return attacks;
+    }
+
+    /**
+     * @return squares reached from square in up to range steps, stopping at blockers
+     */
+    private static long rays(int square, int range, long occupied) {
+        long reached = 0;
+        for (int[] ray : RAYS[square]) {
+            int steps = Math.min(range, ray.length);
+            for (int i = 0; i < steps; i++) {
+                long target = GameState.bit(ray[i]);
+                reached |= target;
+                if ((occupied & target) != 0) break;
+            }
+        }
+        return reached;
+    }
+}
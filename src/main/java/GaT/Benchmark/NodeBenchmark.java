@@ -0,0 +1,96 @@
+package GaT.Benchmark;
+
+import GaT.Minimax;
+import GaT.MoveGenerator;
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+import GaT.SearchConfig;
+import GaT.SearchContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Counts search nodes for fixed-depth iterative deepening over a reproducible
+ * set of positions. Node counts do not depend on the machine, so two builds or
+ * two configs can be compared directly.
+ *
+ * The positions are the start position after 2, 4, ..., 12 random plies
+ * (seed 7). Every position is searched at depth 1, 2, ..., maxDepth and the
+ * main and quiescence nodes of all iterations are summed. Like in a game, one
+ * context is used for all positions, so tables and history carry over.
+ *
+ * Usage: NodeBenchmark [maxDepth] [strategy] [positions]
+ */
+public class NodeBenchmark {
+
+    private static final long SEED = 7;
+
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        Minimax.SearchStrategy strategy = args.length > 1
+                ? Minimax.SearchStrategy.valueOf(args[1]) : Minimax.SearchStrategy.PVS_Q;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+
+        List<GameState> positions = positions(count);
+        System.out.println("Positions: " + count + ", depth 1-" + maxDepth + ", strategy " + strategy);
+
+        report("default", positions, maxDepth, strategy, SearchConfig.DEFAULT);
+        report("no null-move verification", positions, maxDepth, strategy,
+                SearchConfig.DEFAULT.withNullMoveVerification(false));
+        report("no quiescence table", positions, maxDepth, strategy,
+                SearchConfig.DEFAULT.withQuiescenceTable(false));
+        report("no guard threats in quiescence", positions, maxDepth, strategy,
+                SearchConfig.DEFAULT.withGuardThreatPlies(0));
+    }
+
+    private static void report(String name, List<GameState> positions, int maxDepth,
+                               Minimax.SearchStrategy strategy, SearchConfig config) {
+        long start = System.currentTimeMillis();
+        long nodes = countNodes(positions, maxDepth, strategy, config);
+        long duration = System.currentTimeMillis() - start;
+        System.out.println(String.format("%-32s nodes: %12d  time: %6d ms", name, nodes, duration));
+    }
+
+    /**
+     * @return main and quiescence nodes of all iterations over all positions
+     */
+    public static long countNodes(List<GameState> positions, int maxDepth,
+                                  Minimax.SearchStrategy strategy, SearchConfig config) {
+        SearchContext context = new SearchContext();
+        context.verbose = false;
+        context.setConfig(config);
+        SearchContext.bind(context);
+
+        long total = 0;
+        try {
+            for (GameState position : positions) {
+                for (int depth = 1; depth <= maxDepth; depth++) {
+                    Minimax.findBestMoveWithStrategy(position, depth, strategy);
+                    total += context.nodes + context.qNodes;
+                }
+            }
+        } finally {
+            SearchContext.unbind();
+        }
+        return total;
+    }
+
+    /**
+     * @return count positions, the i-th after 2 + (i % 6) * 2 random plies from the start
+     */
+    public static List<GameState> positions(int count) {
+        Random random = new Random(SEED);
+        List<GameState> positions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            GameState state = new GameState();
+            for (int ply = 0; ply < 2 + (i % 6) * 2; ply++) {
+                List<Move> moves = MoveGenerator.generateAllMoves(state);
+                state.applyMove(moves.get(random.nextInt(moves.size())));
+            }
+            positions.add(state);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,56 @@
+package GaT.Benchmark;
+
+import GaT.Minimax;
+import GaT.Objects.GameState;
+import GaT.SearchContext;
+import GaT.TimedMinimax;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures how far timed searches run past their time limit, i.e. the abort
+ * latency of the node-count polling. Runs several timed searches of the
+ * start position in one context, so the poll interval calibrates as in a game.
+ * The first run warms up the JIT and is not counted. Runs that end before the
+ * limit, because the next iteration would not fit, are counted separately.
+ *
+ * Usage: TimeLimitBenchmark [timeLimitMs] [strategy] [runs]
+ */
+public class TimeLimitBenchmark {
+    public static void main(String[] args) {
+        long timeLimit = args.length > 0 ? Long.parseLong(args[0]) : 3000;
+        Minimax.SearchStrategy strategy = args.length > 1
+                ? Minimax.SearchStrategy.valueOf(args[1]) : Minimax.SearchStrategy.PVS_Q;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+        SearchContext context = SearchContext.current();
+        context.verbose = false;
+        GameState state = new GameState();
+        List<Double> overshoots = new ArrayList<>();
+        int stoppedEarly = 0;
+
+        for (int i = 0; i <= runs; i++) {
+            long start = System.nanoTime();
+            TimedMinimax.findBestMoveWithStrategy(state, 99, timeLimit, strategy);
+            double overshoot = (System.nanoTime() - start) / 1e6 - timeLimit;
+            System.out.println(String.format("Run %d: %.2f ms past the limit, poll interval %d nodes%s",
+                    i, overshoot, context.getPollInterval(), i == 0 ? " (warm-up)" : ""));
+
+            if (i == 0) continue;
+            if (overshoot < 0) {
+                stoppedEarly++;
+            } else {
+                overshoots.add(overshoot);
+            }
+        }
+
+        System.out.println("Runs stopped before the limit: " + stoppedEarly);
+        if (!overshoots.isEmpty()) {
+            Collections.sort(overshoots);
+            System.out.println(String.format("Median overshoot: %.2f ms, max: %.2f ms",
+                    overshoots.get(overshoots.size() / 2), overshoots.get(overshoots.size() - 1)));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package GaT;
+
+import GaT.Objects.GameState;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Evaluation as a feature vector times a weight array.
+ *
+ * Every feature is a red-minus-blue count (material, piece-square sums, attack
+ * popcounts, ...). Each one has a midgame and an endgame weight; the two sums
+ * are blended by the game phase. The fast path {@link #evaluate(GameState)}
+ * only returns the score, the slow path {@link #extract(GameState, int[])}
+ * exposes the features and the phase for tuning.
+ *
+ * Weights can come from a file written by the tuner ({@link GaT.Tuning.TexelTuner}),
+ * given with -Dgat.weights=&lt;file&gt; or via {@link #loadWeights(Path)}.
+ */
+public final class FeatureEvaluator {
+
+    // === FEATURES ===
+    public static final int GUARD_SAFETY = 0;      // +1 only blue guard attacked, -1 only red guard attacked
+    public static final int MATERIAL = 1;          // Tower pieces
+    public static final int PIECE_SQUARE = 2;      // Piece-square sums of GameState
+    public static final int TEMPO = 3;             // +1 red to move, -1 blue to move
+    public static final int GUARD_RACE = 4;        // Ranks advanced by the guards
+    public static final int ATTACKED_SQUARES = 5;  // Popcount of the attack maps
+    public static final int NUM_FEATURES = 6;
+
+    public static final String[] FEATURE_NAMES = {
+            "guard_safety", "material", "piece_square", "tempo", "guard_race", "attacked_squares"
+    };
+
+    // === GAME PHASE ===
+    // PHASE_MAX with all 14 pieces on the board, 0 from EG_MATERIAL pieces down
+    // (the old endgame threshold, so small endgames keep the full endgame weights)
+    private static final int MG_MATERIAL = 14;
+    private static final int EG_MATERIAL = 8;
+    public static final int PHASE_MAX = MG_MATERIAL - EG_MATERIAL;
+
+    // === WEIGHTS ===
+    // Midgame weights at [feature], endgame weights at [NUM_FEATURES + feature]
+    private static final int[] DEFAULT_WEIGHTS = {
+            // guard_safety, material, piece_square, tempo, guard_race, attacked_squares
+            Minimax.GUARD_DANGER_PENALTY, Minimax.MATERIAL_VALUE, 1, 30, 0, 0,     // Midgame
+            Minimax.GUARD_DANGER_PENALTY, Minimax.MATERIAL_VALUE, 1, 30, 100, 0    // Endgame
+    };
+    private static volatile int[] weights = DEFAULT_WEIGHTS.clone();   // Replaced as a whole, never changed in place
+
+    public static final String WEIGHTS_PROPERTY = "gat.weights";
+
+    static {
+        String file = System.getProperty(WEIGHTS_PROPERTY);
+        if (file != null) {
+            try {
+                loadWeights(Paths.get(file));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Evaluation weights not loaded from " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private FeatureEvaluator() {
+    }
+
+    /**
+     * Fast path: score of a running game from red's point of view. Sums the weighted
+     * features directly, without a feature buffer; the attack map is only built if
+     * attacked_squares has a weight.
+     */
+    public static int evaluate(GameState state) {
+        int[] w = weights;
+        int mg = 0;
+        int eg = 0;
+
+        int guardSafety = guardSafety(state);
+        mg += guardSafety * w[GUARD_SAFETY];
+        eg += guardSafety * w[NUM_FEATURES + GUARD_SAFETY];
+
+        int material = state.redMaterial - state.blueMaterial;
+        mg += material * w[MATERIAL];
+        eg += material * w[NUM_FEATURES + MATERIAL];
+
+        int pieceSquare = state.redPsq - state.bluePsq;
+        mg += pieceSquare * w[PIECE_SQUARE];
+        eg += pieceSquare * w[NUM_FEATURES + PIECE_SQUARE];
+
+        int tempo = state.redToMove ? 1 : -1;
+        mg += tempo * w[TEMPO];
+        eg += tempo * w[NUM_FEATURES + TEMPO];
+
+        int guardRace = guardRace(state);
+        mg += guardRace * w[GUARD_RACE];
+        eg += guardRace * w[NUM_FEATURES + GUARD_RACE];
+
+        if (w[ATTACKED_SQUARES] != 0 || w[NUM_FEATURES + ATTACKED_SQUARES] != 0) {
+            int attacked = attackedSquares(state);
+            mg += attacked * w[ATTACKED_SQUARES];
+            eg += attacked * w[NUM_FEATURES + ATTACKED_SQUARES];
+        }
+
+        int phase = gamePhase(state);
+        return (mg * phase + eg * (PHASE_MAX - phase)) / PHASE_MAX;
+    }
+
+    /**
+     * Scores many positions with one feature buffer
+     */
+    public static void evaluateBatch(List<GameState> states, int[] scores) {
+        int[] features = new int[NUM_FEATURES];
+        int[] w = weights;
+        for (int i = 0; i < states.size(); i++) {
+            int phase = extract(states.get(i), features);
+            scores[i] = score(features, phase, w);
+        }
+    }
+
+    /**
+     * Slow path for tuning: writes all features of state into features
+     *
+     * @return game phase, from PHASE_MAX (midgame) to 0 (endgame)
+     */
+    public static int extract(GameState state, int[] features) {
+        features[GUARD_SAFETY] = guardSafety(state);
+        features[MATERIAL] = state.redMaterial - state.blueMaterial;
+        features[PIECE_SQUARE] = state.redPsq - state.bluePsq;
+        features[TEMPO] = state.redToMove ? 1 : -1;
+        features[GUARD_RACE] = guardRace(state);
+        features[ATTACKED_SQUARES] = attackedSquares(state);
+
+        return gamePhase(state);
+    }
+
+    private static int guardSafety(GameState state) {
+        int guardSafety = 0;
+        if (AttackMap.isGuardAttacked(state, true)) guardSafety--;
+        if (AttackMap.isGuardAttacked(state, false)) guardSafety++;
+        return guardSafety;
+    }
+
+    private static int guardRace(GameState state) {
+        int guardRace = 0;
+        if (state.redGuard != 0) {
+            guardRace += 6 - GameState.rank(Long.numberOfTrailingZeros(state.redGuard));
+        }
+        if (state.blueGuard != 0) {
+            guardRace -= GameState.rank(Long.numberOfTrailingZeros(state.blueGuard));
+        }
+        return guardRace;
+    }
+
+    private static int attackedSquares(GameState state) {
+        AttackMap attacks = AttackMap.of(state);
+        return Long.bitCount(attacks.attacks(true)) - Long.bitCount(attacks.attacks(false));
+    }
+
+    /**
+     * @return weighted sum of the features, blended between midgame and endgame weights
+     */
+    public static int score(int[] features, int phase, int[] w) {
+        int mg = 0;
+        int eg = 0;
+        for (int i = 0; i < NUM_FEATURES; i++) {
+            mg += features[i] * w[i];
+            eg += features[i] * w[NUM_FEATURES + i];
+        }
+        return (mg * phase + eg * (PHASE_MAX - phase)) / PHASE_MAX;
+    }
+
+    /**
+     * @return phase from the running material count of the state
+     */
+    public static int gamePhase(GameState state) {
+        int material = state.redMaterial + state.blueMaterial;
+        return Math.max(0, Math.min(PHASE_MAX, material - EG_MATERIAL));
+    }
+
+    /**
+     * @return copy of the current weights, midgame block first
+     */
+    public static int[] getWeights() {
+        return weights.clone();
+    }
+
+    public static void setWeights(int[] newWeights) {
+        if (newWeights.length != 2 * NUM_FEATURES) {
+            throw new IllegalArgumentException("Expected " + 2 * NUM_FEATURES + " weights, got " + newWeights.length);
+        }
+        weights = newWeights.clone();
+    }
+
+    public static void resetWeights() {
+        weights = DEFAULT_WEIGHTS.clone();
+    }
+
+    /**
+     * @return the weights as "name mg eg" lines, the format of the weight file
+     */
+    public static String describeWeights() {
+        return describeWeights(weights);
+    }
+
+    public static String describeWeights(int[] w) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < NUM_FEATURES; i++) {
+            out.append(String.format("%-18s %6d %6d%n", FEATURE_NAMES[i], w[i], w[NUM_FEATURES + i]));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Reads "name mg eg" lines; '#' starts a comment, features missing in the file keep their weights
+     *
+     * @throws IllegalArgumentException for an unknown feature or a malformed line; no weight is changed then
+     */
+    public static void loadWeights(Path file) throws IOException {
+        int[] loaded = weights.clone();
+
+        for (String line : Files.readAllLines(file)) {
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) continue;
+
+            String[] parts = content.split("\\s+");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected 'name mg eg', got: " + content);
+            }
+            int feature = featureIndex(parts[0]);
+            loaded[feature] = Integer.parseInt(parts[1]);
+            loaded[NUM_FEATURES + feature] = Integer.parseInt(parts[2]);
+        }
+
+        weights = loaded;
+    }
+
+    public static void saveWeights(Path file, int[] w) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("# Guard & Towers evaluation weights: feature, midgame, endgame");
+            out.print(describeWeights(w));
+        }
+    }
+
+    private static int featureIndex(String name) {
+        for (int i = 0; i < NUM_FEATURES; i++) {
+            if (FEATURE_NAMES[i].equals(name)) return i;
+        }
+        throw new IllegalArgumentException("Unknown feature: " + name);
+    }
+}
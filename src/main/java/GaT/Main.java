@@ -33,7 +33,7 @@ public class Main {
 
 
         System.out.println("=== With Quiescence ===");
-        Minimax.counter = 0;
+        SearchContext.current().nodes = 0;
         QuiescenceSearch.resetQuiescenceStats();
 
         startTime = System.currentTimeMillis();
@@ -45,8 +45,8 @@ public class Main {
         System.out.println("Best move: " + bestQ);
         System.out.println("Evaluation: "+ evaluate(copyQ, 0));
         System.out.println("Time taken: "+ (endTime - startTime) + "ms");
-        System.out.println("Regular nodes: " + Minimax.counter);
-        System.out.println("Q-nodes: " + QuiescenceSearch.qNodes);
+        System.out.println("Regular nodes: " + SearchContext.current().nodes);
+        System.out.println("Q-nodes: " + SearchContext.current().qNodes);
 
         System.out.println("\nMoves different: " + !best.equals(bestQ));
 
@@ -56,7 +56,7 @@ public class Main {
         GameState tactical = GameState.fromFen("7/7/3b33/BG1r43/3RG3/7/7 r");
         tactical.printBoard();
 
-        Minimax.counter = 0;
+        SearchContext.current().nodes = 0;
         QuiescenceSearch.resetQuiescenceStats();
 
         startTime = System.currentTimeMillis();
@@ -65,8 +65,8 @@ public class Main {
 
         System.out.println("Best move: " + tacticalMove);
         System.out.println("Time: " + (endTime - startTime) + "ms");
-        System.out.println("Regular nodes: " + Minimax.counter);
-        System.out.println("Q-nodes: " + QuiescenceSearch.qNodes);
+        System.out.println("Regular nodes: " + SearchContext.current().nodes);
+        System.out.println("Q-nodes: " + SearchContext.current().qNodes);
 
 
     }
@@ -2,48 +2,37 @@ package GaT;
 
 import GaT.Objects.GameState;
 import GaT.Objects.Move;
+import GaT.Objects.PieceSquareTables;
 import GaT.Objects.TTEntry;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.function.BooleanSupplier;
 
 import static GaT.Objects.GameState.getIndex;
 
 public class Minimax {
     public static final int RED_CASTLE_INDEX = getIndex(6, 3); // D7
     public static final int BLUE_CASTLE_INDEX = getIndex(0, 3); // D1
-    public static int counter = 0;
-
-    private static final HashMap<Long, TTEntry> transpositionTable = new HashMap<>();
-
-    final static int[] centralSquares = {
-            GameState.getIndex(2, 3), // D3
-            GameState.getIndex(3, 3), // D4
-            GameState.getIndex(4, 3)  // D5
-    };
 
     // === BALANCED EVALUATION CONSTANTS ===
     private static final int GUARD_CAPTURE_SCORE = 1500;      // Reduced from 3000
     private static final int MATE_NET_SCORE = 2000;           // Reduced from 5000
     private static final int CASTLE_REACH_SCORE = 2500;       // Reduced from 4000
-    private static final int GUARD_DANGER_PENALTY = 600;      // Reduced from 800
-    private static final int MATERIAL_VALUE = 130;
+    static final int GUARD_DANGER_PENALTY = 600;      // Reduced from 800
+    static final int MATERIAL_VALUE = 130;
     private static final int MOBILITY_BONUS = 15;
-    private static final int CENTRAL_CONTROL_BONUS = 25;
-    private static final int GUARD_ADVANCEMENT_BONUS = 40;
 
     // Graduated guard safety values
     private static final int GUARD_SAFE_CASTLE = 500;
     private static final int GUARD_NEAR_CASTLE = 250;
 
-    // === KILLER MOVES & PRINCIPAL VARIATION ===
-    private static Move[][] killerMoves = new Move[20][2];
-    private static int killerAge = 0;
-    private static Move[] pvLine = new Move[20];
+    // === WIN SCORES ===
+    // Decided games score WIN_SCORE minus the plies from the root, so shorter wins score higher
+    public static final int WIN_SCORE = 10_000;
+    static final int WIN_THRESHOLD = WIN_SCORE - 1000;
 
-    // === TIME MANAGEMENT INTEGRATION ===
-    private static long remainingTimeMs = 180000; // Default 3 minutes
+    // === HISTORY HEURISTIC ===
+    static final int HISTORY_MAX = 16384;
+    private static final int HISTORY_ORDERING_DIVISOR = 8;   // Keeps history below the killer bonuses
 
     /**
      * LEGACY COMPATIBILITY METHODS
@@ -65,294 +54,172 @@ public class Minimax {
     }
 
     // === SEARCH STRATEGY CONFIGURATION ===
+    // Every strategy runs through the same negamax core (PVSSearch.negamax);
+    // the flags only switch its features on and off.
     public enum SearchStrategy {
-        ALPHA_BETA,
-        ALPHA_BETA_Q,
-        PVS,
-        PVS_Q
+        ALPHA_BETA(false, false, false, false),
+        ALPHA_BETA_Q(true, false, false, false),
+        PVS(false, true, true, true),
+        PVS_Q(true, true, true, true);
+
+        public final boolean quiescence;   // Quiescence search at the horizon instead of static eval
+        public final boolean pvs;          // Null-window searches after the first move, no TT cutoffs at PV nodes
+        public final boolean pruning;      // Forward pruning (null move, LMR, futility)
+        public final boolean extensions;   // Fractional extensions for guard threats and castle races
+
+        SearchStrategy(boolean quiescence, boolean pvs, boolean pruning, boolean extensions) {
+            this.quiescence = quiescence;
+            this.pvs = pvs;
+            this.pruning = pruning;
+            this.extensions = extensions;
+        }
     }
 
     /**
      * Time management integration
      */
     public static void setRemainingTime(long timeMs) {
-        remainingTimeMs = timeMs;
+        SearchContext.current().remainingTimeMs = timeMs;
     }
 
     /**
      * UNIFIED SEARCH INTERFACE - Clean strategy selection
      */
     public static Move findBestMoveWithStrategy(GameState state, int depth, SearchStrategy strategy) {
-        List<Move> moves = MoveGenerator.generateAllMoves(state);
+        return findBestMoveWithWindow(state, depth, strategy, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
 
-        // Use consistent advanced ordering for all situations
-        orderMovesAdvanced(moves, state, depth, getTranspositionEntry(state.hash()));
+    /**
+     * Root search inside the window [alpha, beta] (scores from red's view) on freshly generated root moves.
+     * The score of the returned move is left in the search context (see getLastRootScore);
+     * if it lies on or outside the window it is only a bound and the caller has to re-search.
+     */
+    public static Move findBestMoveWithWindow(GameState state, int depth, SearchStrategy strategy,
+                                              int alpha, int beta) {
+        return searchRoot(new RootMoveList(state), state, depth, strategy, alpha, beta);
+    }
 
+    /**
+     * Root search over a root move list that is kept across iterative deepening.
+     * Scores, subtree sizes and the PV of the root moves are updated, and the list is
+     * reordered for the next iteration.
+     */
+    public static Move searchRoot(RootMoveList rootMoves, GameState state, int depth, SearchStrategy strategy,
+                                  int alpha, int beta) {
+        SearchContext ctx = SearchContext.current();
+        RootMoveList.RootMove bestRootMove = null;
         Move bestMove = null;
         boolean isRed = state.redToMove;
         int bestScore = isRed ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
 
-        System.out.println("=== Starting " + strategy + " Search (Depth " + depth + ") ===");
+        ctx.log("=== Starting " + strategy + " Search (Depth " + depth + ") ===");
 
-        counter = 0;
-        if (strategy == SearchStrategy.ALPHA_BETA_Q || strategy == SearchStrategy.PVS_Q) {
-            QuiescenceSearch.setRemainingTime(remainingTimeMs); // CRITICAL: Sync time with QuiescenceSearch
+        ctx.restartPolling();
+        ctx.nodes = 0;
+        ctx.betaCutoffs = 0;
+        ctx.firstMoveCutoffs = 0;
+        if (strategy.quiescence) {
+            QuiescenceSearch.setRemainingTime(ctx.remainingTimeMs); // CRITICAL: Sync time with QuiescenceSearch
             QuiescenceSearch.resetQuiescenceStats();
         }
 
-        for (Move move : moves) {
+        rootMoves.startIteration();
+
+        for (RootMoveList.RootMove rootMove : rootMoves.getMoves()) {
+            Move move = rootMove.move;
             GameState copy = state.copy();
             copy.applyMove(move);
-            counter++;
-
-            int score = searchWithStrategy(copy, depth - 1, Integer.MIN_VALUE,
-                    Integer.MAX_VALUE, !isRed, strategy, true);
+            ctx.moveStack[0] = move;
+            ctx.nodes++;
+
+            long nodesBefore = ctx.nodes + ctx.qNodes;
+            int score;
+            if (strategy.pvs && bestMove != null) {
+                // Null-window probe against the current best, full re-search only if it improves
+                if (isRed) {
+                    score = searchWithStrategy(copy, depth - 1, alpha, alpha + 1, false, strategy, false);
+                } else {
+                    score = searchWithStrategy(copy, depth - 1, beta - 1, beta, true, strategy, false);
+                }
+                if (score > alpha && score < beta) {
+                    score = searchWithStrategy(copy, depth - 1, alpha, beta, !isRed, strategy, true);
+                }
+            } else {
+                score = searchWithStrategy(copy, depth - 1, alpha, beta, !isRed, strategy, true);
+            }
 
+            rootMove.score = score;
+            rootMove.nodes = ctx.nodes + ctx.qNodes - nodesBefore;
+            rootMove.searched = true;
 
             if ((isRed && score > bestScore) || (!isRed && score < bestScore) || bestMove == null) {
                 bestScore = score;
                 bestMove = move;
+                bestRootMove = rootMove;
+                rootMove.pv = RootMoveList.extractPV(move, copy, depth - 1);
+                storePVMove(move, 0);
             }
-        }
 
-        System.out.println("Search nodes: " + counter);
-        if (strategy == SearchStrategy.ALPHA_BETA_Q || strategy == SearchStrategy.PVS_Q) {
-            if (QuiescenceSearch.qNodes > 0) {
-                System.out.println("Q-nodes: " + QuiescenceSearch.qNodes);
-                System.out.println("Stand-pat rate: " + (100.0 * QuiescenceSearch.standPatCutoffs / QuiescenceSearch.qNodes) + "%");
+            if (isRed) {
+                alpha = Math.max(alpha, score);
+            } else {
+                beta = Math.min(beta, score);
             }
-        }
-        System.out.println("Best move: " + bestMove + " (Score: " + bestScore + ")");
-
-        return bestMove;
-    }
-
-    /**
-     * STRATEGY DISPATCHER - Routes to appropriate search method
-     */
-    private static int searchWithStrategy(GameState state, int depth, int alpha, int beta,
-                                          boolean maximizingPlayer, SearchStrategy strategy, boolean isPVNode) {
-        switch (strategy) {
-            case ALPHA_BETA:
-                return minimax(state, depth, alpha, beta, maximizingPlayer);
-            case ALPHA_BETA_Q:
-                return minimaxWithQuiescence(state, depth, alpha, beta, maximizingPlayer);
-            case PVS:
-                return PVSSearch.search(state, depth, alpha, beta, maximizingPlayer, isPVNode);
-            case PVS_Q:
-                return PVSSearch.searchWithQuiescence(state, depth, alpha, beta, maximizingPlayer, isPVNode);
-            default:
-                throw new IllegalArgumentException("Unknown search strategy: " + strategy);
-        }
-    }
-
-    /**
-     * Classic Alpha-Beta Minimax
-     */
-    private static int minimax(GameState state, int depth, int alpha, int beta, boolean maximizingPlayer) {
-        // Check transposition table
-        long hash = state.hash();
-        TTEntry entry = transpositionTable.get(hash);
-        if (entry != null && entry.depth >= depth) {
-            if (entry.flag == TTEntry.EXACT) {
-                return entry.score;
-            } else if (entry.flag == TTEntry.LOWER_BOUND && entry.score >= beta) {
-                return entry.score;
-            } else if (entry.flag == TTEntry.UPPER_BOUND && entry.score <= alpha) {
-                return entry.score;
+            if (alpha >= beta) {
+                break; // Fail high (red) / fail low (blue) - window has to be widened
             }
         }
 
-        if (depth == 0 || isGameOver(state)) {
-            return evaluate(state, depth);
+        rootMoves.finishIteration(bestRootMove);
+        ctx.rootScore = bestScore;
+        if (bestMove != null) {
+            storeRootEntry(ctx, state, depth, bestScore, originalAlpha, originalBeta, bestMove);
         }
 
-        List<Move> moves = MoveGenerator.generateAllMoves(state);
-        orderMovesAdvanced(moves, state, depth, entry);
-
-        Move bestMove = null;
-        int originalAlpha = alpha;
-
-        if (maximizingPlayer) {
-            int maxEval = Integer.MIN_VALUE;
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                counter++;
-                int eval = minimax(copy, depth - 1, alpha, beta, false);
-
-                if (eval > maxEval) {
-                    maxEval = eval;
-                    bestMove = move;
-                    storePVMove(move, depth);
-                }
-
-                alpha = Math.max(alpha, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
-                }
-            }
-
-            int flag = maxEval <= originalAlpha ? TTEntry.UPPER_BOUND :
-                    maxEval >= beta ? TTEntry.LOWER_BOUND : TTEntry.EXACT;
-            transpositionTable.put(hash, new TTEntry(maxEval, depth, flag, bestMove));
-
-            return maxEval;
-        } else {
-            int minEval = Integer.MAX_VALUE;
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                counter++;
-                int eval = minimax(copy, depth - 1, alpha, beta, true);
-
-                if (eval < minEval) {
-                    minEval = eval;
-                    bestMove = move;
-                    storePVMove(move, depth);
-                }
-
-                beta = Math.min(beta, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
-                }
+        ctx.log("Search nodes: " + ctx.nodes);
+        if (ctx.betaCutoffs > 0) {
+            ctx.log("First-move cutoffs: " + (100.0 * ctx.firstMoveCutoffs / ctx.betaCutoffs) + "%");
+        }
+        if (strategy.quiescence) {
+            if (ctx.qNodes > 0) {
+                ctx.log("Q-nodes: " + ctx.qNodes);
+                ctx.log("Stand-pat rate: " + (100.0 * ctx.standPatCutoffs / ctx.qNodes) + "%");
             }
-
-            int flag = minEval <= originalAlpha ? TTEntry.UPPER_BOUND :
-                    minEval >= beta ? TTEntry.LOWER_BOUND : TTEntry.EXACT;
-            transpositionTable.put(hash, new TTEntry(minEval, depth, flag, bestMove));
-
-            return minEval;
         }
+        ctx.log("Best move: " + bestMove + " (Score: " + bestScore + ") PV: " + rootMoves.pvString());
+
+        return bestMove;
     }
 
     /**
-     * Alpha-Beta with Quiescence Search integration
+     * Stores the root result like any other node: score and bound from the side to move
      */
-    private static int minimaxWithQuiescence(GameState state, int depth, int alpha, int beta, boolean maximizingPlayer) {
-        // Check transposition table
-        long hash = state.hash();
-        TTEntry entry = transpositionTable.get(hash);
-        if (entry != null && entry.depth >= depth) {
-            if (entry.flag == TTEntry.EXACT) {
-                return entry.score;
-            } else if (entry.flag == TTEntry.LOWER_BOUND && entry.score >= beta) {
-                return entry.score;
-            } else if (entry.flag == TTEntry.UPPER_BOUND && entry.score <= alpha) {
-                return entry.score;
-            }
-        }
-
-        // Terminal conditions
-        if (isGameOver(state)) {
-            return evaluate(state, depth);
-        }
-
-        // QUIESCENCE INTEGRATION: Use quiescence search when depth <= 0
-        if (depth <= 0) {
-            return QuiescenceSearch.quiesce(state, alpha, beta, maximizingPlayer, 0);
-        }
-
-        List<Move> moves = MoveGenerator.generateAllMoves(state);
-        orderMovesAdvanced(moves, state, depth, entry);
-
-        Move bestMove = null;
-        int originalAlpha = alpha;
-
-        if (maximizingPlayer) {
-            int maxEval = Integer.MIN_VALUE;
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                counter++;
-
-                int eval = minimaxWithQuiescence(copy, depth - 1, alpha, beta, false);
-
-                if (eval > maxEval) {
-                    maxEval = eval;
-                    bestMove = move;
-                    storePVMove(move, depth);
-                }
-
-                alpha = Math.max(alpha, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
-                }
-            }
-
-            int flag = maxEval <= originalAlpha ? TTEntry.UPPER_BOUND :
-                    maxEval >= beta ? TTEntry.LOWER_BOUND : TTEntry.EXACT;
-            transpositionTable.put(hash, new TTEntry(maxEval, depth, flag, bestMove));
-
-            return maxEval;
+    private static void storeRootEntry(SearchContext ctx, GameState state, int depth, int score,
+                                       int alpha, int beta, Move bestMove) {
+        alpha = Math.max(alpha, -PVSSearch.INFINITY);
+        beta = Math.min(beta, PVSSearch.INFINITY);
+        if (state.redToMove) {
+            PVSSearch.storeTTEntry(ctx, state.hash(), score, depth, 0, alpha, beta, bestMove);
         } else {
-            int minEval = Integer.MAX_VALUE;
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                counter++;
-
-                int eval = minimaxWithQuiescence(copy, depth - 1, alpha, beta, true);
-
-                if (eval < minEval) {
-                    minEval = eval;
-                    bestMove = move;
-                    storePVMove(move, depth);
-                }
-
-                beta = Math.min(beta, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
-                }
-            }
-
-            int flag = minEval <= originalAlpha ? TTEntry.UPPER_BOUND :
-                    minEval >= beta ? TTEntry.LOWER_BOUND : TTEntry.EXACT;
-            transpositionTable.put(hash, new TTEntry(minEval, depth, flag, bestMove));
-
-            return minEval;
-        }
-    }
-
-    // === TIMEOUT SUPPORT FOR INTEGRATION ===
-    public static int minimaxWithTimeout(GameState state, int depth, int alpha, int beta,
-                                         boolean maximizingPlayer, BooleanSupplier timeoutCheck) {
-        if (timeoutCheck.getAsBoolean()) {
-            throw new RuntimeException("Timeout");
+            PVSSearch.storeTTEntry(ctx, state.hash(), -score, depth, 0, -beta, -alpha, bestMove);
         }
-
-        SearchStrategy strategy = SearchStrategy.ALPHA_BETA;
-        return searchWithTimeoutSupport(state, depth, alpha, beta, maximizingPlayer, strategy, timeoutCheck, false);
     }
 
-    private static int searchWithTimeoutSupport(GameState state, int depth, int alpha, int beta,
-                                                boolean maximizingPlayer, SearchStrategy strategy,
-                                                BooleanSupplier timeoutCheck, boolean isPVNode) {
-        if (timeoutCheck.getAsBoolean()) {
-            throw new RuntimeException("Timeout");
-        }
-
-        if (strategy == SearchStrategy.PVS || strategy == SearchStrategy.PVS_Q) {
-            PVSSearch.setTimeoutChecker(timeoutCheck);
-        }
-
-        return searchWithStrategy(state, depth, alpha, beta, maximizingPlayer, strategy, isPVNode);
+    /**
+     * Red's view into the negamax core
+     */
+    private static int searchWithStrategy(GameState state, int depth, int alpha, int beta,
+                                          boolean maximizingPlayer, SearchStrategy strategy, boolean isPVNode) {
+        return PVSSearch.search(state, depth, alpha, beta, maximizingPlayer, isPVNode, strategy, 1);
     }
 
     // === MOVE ORDERING & HEURISTICS ===
-    public static void orderMovesAdvanced(List<Move> moves, GameState state, int depth, TTEntry entry) {
+    /**
+     * @param ply distance from the root, selects the PV and killer slots
+     */
+    public static void orderMovesAdvanced(List<Move> moves, GameState state, int ply, TTEntry entry) {
         // 1. TT Move at first position
         if (entry != null && entry.bestMove != null) {
             for (int i = 0; i < moves.size(); i++) {
@@ -369,9 +236,10 @@ public class Minimax {
             int startIndex = (entry != null && entry.bestMove != null) ? 1 : 0;
             List<Move> restMoves = moves.subList(startIndex, moves.size());
 
+            SearchContext ctx = SearchContext.current();
             restMoves.sort((a, b) -> {
-                int scoreA = scoreMoveAdvanced(state, a, depth);
-                int scoreB = scoreMoveAdvanced(state, b, depth);
+                int scoreA = scoreMoveAdvanced(ctx, state, a, ply);
+                int scoreB = scoreMoveAdvanced(ctx, state, b, ply);
                 return Integer.compare(scoreB, scoreA);
             });
         }
@@ -380,7 +248,13 @@ public class Minimax {
     /**
      * SIMPLIFIED Advanced move scoring - much faster and more balanced
      */
-    public static int scoreMoveAdvanced(GameState state, Move move, int depth) {
+    public static int scoreMoveAdvanced(GameState state, Move move, int ply) {
+        return scoreMoveAdvanced(SearchContext.current(), state, move, ply);
+    }
+
+    private static int scoreMoveAdvanced(SearchContext ctx, GameState state, Move move, int ply) {
+        Move[] pvLine = ctx.pvLine;
+        Move[][] killerMoves = ctx.killerMoves;
         int score = scoreMove(state, move); // Base tactical score
 
         // Add guard danger awareness without expensive checks
@@ -392,22 +266,24 @@ public class Minimax {
         }
 
         // PV Move bonus (reduced)
-        if (depth < pvLine.length && move.equals(pvLine[depth])) {
+        if (ply < pvLine.length && move.equals(pvLine[ply])) {
             score += 5000; // Reduced from 15000
         }
 
         // Killer Move bonuses (reduced)
-        if (depth < killerMoves.length) {
-            if (move.equals(killerMoves[depth][0])) {
+        if (ply < killerMoves.length) {
+            if (move.equals(killerMoves[ply][0])) {
                 score += 3000; // Reduced from 9000
-            } else if (move.equals(killerMoves[depth][1])) {
+            } else if (move.equals(killerMoves[ply][1])) {
                 score += 2000; // Reduced from 8000
             }
         }
 
-        // Simple positional bonus
+        // Simple positional bonus and history for quiet moves
         if (!isCapture(move, state)) {
             score += getPositionalBonus(move, state);
+            // Only good history here, scores stay non-negative; maluses are used by the MovePicker
+            score += Math.max(0, getHistoryScore(ctx, state, move)) / HISTORY_ORDERING_DIVISOR;
         }
 
         return score;
@@ -416,125 +292,159 @@ public class Minimax {
     /**
      * Check if move is a guard move
      */
-    private static boolean isGuardMove(Move move, GameState state) {
+    static boolean isGuardMove(Move move, GameState state) {
         boolean isRed = state.redToMove;
         long guardBit = isRed ? state.redGuard : state.blueGuard;
         return guardBit != 0 && move.from == Long.numberOfTrailingZeros(guardBit);
     }
 
     /**
-     * FAST guard danger detection - much more efficient
+     * Guard danger from the attack map of the position (blocker-aware, cached per node)
      */
     private static boolean isGuardInDangerFast(GameState state, boolean checkRed) {
-        long guardBit = checkRed ? state.redGuard : state.blueGuard;
-        if (guardBit == 0) return false;
-
-        int guardPos = Long.numberOfTrailingZeros(guardBit);
-
-        // Quick danger check - only check immediate threats
-        return isPositionUnderAttack(state, guardPos, !checkRed);
+        return AttackMap.of(state).isGuardAttacked(checkRed);
     }
 
     /**
-     * Fast attack detection
+     * Ordering bonus for quiet moves: the piece-square gain of the move, never negative
      */
-    private static boolean isPositionUnderAttack(GameState state, int pos, boolean byRed) {
-        long attackers = byRed ? (state.redTowers | state.redGuard) : (state.blueTowers | state.blueGuard);
-
-        for (int i = 0; i < GameState.NUM_SQUARES; i++) {
-            if ((attackers & GameState.bit(i)) != 0) {
-                int height = byRed ? state.redStackHeights[i] : state.blueStackHeights[i];
-                if (height == 0 && (byRed ? state.redGuard : state.blueGuard) != GameState.bit(i)) continue;
-
-                // Check if this piece can attack the position
-                if (canPieceAttackPosition(i, pos, height)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    static int getPositionalBonus(Move move, GameState state) {
+        return Math.max(0, getPositionalDelta(move, state));
     }
 
     /**
-     * Fast piece attack check
+     * @return change of the mover's piece-square sum by the move (captures not included)
      */
-    private static boolean canPieceAttackPosition(int from, int to, int height) {
-        int rankDiff = Math.abs(GameState.rank(from) - GameState.rank(to));
-        int fileDiff = Math.abs(GameState.file(from) - GameState.file(to));
-
-        // Guard can move 1 square in any direction
-        if (height <= 1) {
-            return rankDiff <= 1 && fileDiff <= 1 && (rankDiff + fileDiff) == 1;
+    static int getPositionalDelta(Move move, GameState state) {
+        boolean isRed = state.redToMove;
+        if (isGuardMove(move, state)) {
+            return PieceSquareTables.guard(isRed, move.to) - PieceSquareTables.guard(isRed, move.from);
         }
 
-        // Tower can move along rank/file up to its height
-        boolean sameRank = rankDiff == 0;
-        boolean sameFile = fileDiff == 0;
-        int distance = Math.max(rankDiff, fileDiff);
+        int[] heights = isRed ? state.redStackHeights : state.blueStackHeights;
+        int fromHeight = heights[move.from];
+        int toHeight = heights[move.to];   // Own stack when stacking, else 0
+        return PieceSquareTables.tower(isRed, move.from, fromHeight - move.amountMoved)
+                - PieceSquareTables.tower(isRed, move.from, fromHeight)
+                + PieceSquareTables.tower(isRed, move.to, toHeight + move.amountMoved)
+                - PieceSquareTables.tower(isRed, move.to, toHeight);
+    }
+
+    // === PUBLIC INTERFACE METHODS ===
+    public static void storeTranspositionEntry(long hash, TTEntry entry) {
+        SearchContext.current().transpositionTable.put(hash, entry);
+    }
 
-        return (sameRank || sameFile) && distance <= height;
+    /**
+     * @param ply distance from the root; killers are only shared between nodes of the same ply
+     */
+    public static void storeKillerMove(Move move, int ply) {
+        Move[][] killerMoves = SearchContext.current().killerMoves;
+        if (ply >= killerMoves.length) return;
+        if (move.equals(killerMoves[ply][0])) return;
+        killerMoves[ply][1] = killerMoves[ply][0];
+        killerMoves[ply][0] = move;
     }
 
-    private static int getPositionalBonus(Move move, GameState state) {
-        int bonus = 0;
+    /**
+     * Gravity-style history update: the cutoff move gets a bonus, every quiet move
+     * searched before it a malus of the same size. Scores saturate at +-HISTORY_MAX.
+     * The follow-up history of our previous move and the countermove of the
+     * opponent's previous move are updated as well.
+     */
+    static void updateHistory(SearchContext ctx, boolean red, int ply, Move cutoffMove,
+                              Move[] failedQuiets, int failedCount, int depth) {
+        int side = red ? 0 : 1;
+        int bonus = Math.min(depth * depth * 32, HISTORY_MAX / 4);
+        int[][] table = ctx.history[side];
+        Move ownPrevious = ply >= 2 ? ctx.moveStack[ply - 2] : null;
+        int[] followUp = ownPrevious != null ? ctx.followUpHistory[side][ownPrevious.to] : null;
 
-        // Central control bonus
-        for (int centralSquare : centralSquares) {
-            if (move.to == centralSquare) {
-                bonus += 50;
-                break;
-            }
+        applyHistoryBonus(table, cutoffMove, bonus);
+        if (followUp != null) applyHistoryBonus(followUp, SearchContext.followUpSlot(cutoffMove), bonus);
+        for (int i = 0; i < failedCount; i++) {
+            applyHistoryBonus(table, failedQuiets[i], -bonus);
+            if (followUp != null) applyHistoryBonus(followUp, SearchContext.followUpSlot(failedQuiets[i]), -bonus);
         }
 
-        // Guard advancement bonus
-        boolean isRed = state.redToMove;
-        boolean isGuardMove = (move.amountMoved == 1) &&
-                (((isRed && (state.redGuard & GameState.bit(move.from)) != 0)) ||
-                        ((!isRed) && (state.blueGuard & GameState.bit(move.from)) != 0));
-
-        if (isGuardMove) {
-            int targetRank = GameState.rank(move.to);
-            if (isRed && targetRank < 3) {
-                bonus += (3 - targetRank) * 20;
-            } else if (!isRed && targetRank > 3) {
-                bonus += (targetRank - 3) * 20;
-            }
+        Move previous = ply >= 1 ? ctx.moveStack[ply - 1] : null;
+        if (previous != null) {
+            ctx.counterMoves[side][previous.from][previous.to] = cutoffMove;
         }
+    }
 
-        return bonus;
+    private static void applyHistoryBonus(int[][] table, Move move, int bonus) {
+        applyHistoryBonus(table[move.from], move.to, bonus);
     }
 
-    // === PUBLIC INTERFACE METHODS ===
-    public static void storeTranspositionEntry(long hash, TTEntry entry) {
-        transpositionTable.put(hash, entry);
+    private static void applyHistoryBonus(int[] row, int index, int bonus) {
+        int current = row[index];
+        row[index] = current + bonus - current * Math.abs(bonus) / HISTORY_MAX;
+    }
+
+    static int getHistoryScore(SearchContext ctx, GameState state, Move move) {
+        return ctx.history[state.redToMove ? 0 : 1][move.from][move.to];
     }
 
-    public static void storeKillerMove(Move move, int depth) {
-        if (depth >= killerMoves.length) return;
-        if (move.equals(killerMoves[depth][0])) return;
-        killerMoves[depth][1] = killerMoves[depth][0];
-        killerMoves[depth][0] = move;
+    static int getFollowUpScore(SearchContext ctx, GameState state, int ply, Move move) {
+        Move ownPrevious = ply >= 2 ? ctx.moveStack[ply - 2] : null;
+        if (ownPrevious == null) return 0;
+        return ctx.followUpHistory[state.redToMove ? 0 : 1][ownPrevious.to][SearchContext.followUpSlot(move)];
     }
 
-    public static void storePVMove(Move move, int depth) {
-        if (depth < pvLine.length) {
-            pvLine[depth] = move;
+    static Move getCounterMove(SearchContext ctx, GameState state, int ply) {
+        Move previous = ply >= 1 ? ctx.moveStack[ply - 1] : null;
+        if (previous == null) return null;
+        return ctx.counterMoves[state.redToMove ? 0 : 1][previous.from][previous.to];
+    }
+
+    /**
+     * @param ply distance from the root; the move is tried early at the next node of the same ply
+     */
+    public static void storePVMove(Move move, int ply) {
+        Move[] pvLine = SearchContext.current().pvLine;
+        if (ply < pvLine.length) {
+            pvLine[ply] = move;
         }
     }
 
     public static void resetKillerMoves() {
-        killerAge++;
-        if (killerAge > 1000) {
-            killerMoves = new Move[20][2];
-            killerAge = 0;
+        SearchContext ctx = SearchContext.current();
+        ctx.ageHistory();
+        ctx.qTable.newSearch();
+        ctx.killerAge++;
+        if (ctx.killerAge > 1000) {
+            ctx.killerMoves = new Move[SearchContext.MAX_PLY][2];
+            ctx.killerAge = 0;
         }
     }
 
+    /**
+     * @return score of the move returned by the last root search on this thread
+     */
+    public static int getLastRootScore() {
+        return SearchContext.current().rootScore;
+    }
+
     public static TTEntry getTranspositionEntry(long hash) {
-        return transpositionTable.get(hash);
+        return SearchContext.current().transpositionTable.get(hash);
     }
 
     // === GAME LOGIC ===
+    /**
+     * @return true for search scores of a decided game (either side)
+     */
+    public static boolean isWinScore(int score) {
+        return Math.abs(score) >= WIN_THRESHOLD;
+    }
+
+    /**
+     * @return plies from the root until the game ends, for a win or loss score
+     */
+    public static int winDistance(int score) {
+        return WIN_SCORE - Math.abs(score);
+    }
+
     public static boolean isGameOver(GameState state) {
         boolean blueGuardOnD7 = (state.blueGuard & GameState.bit(getIndex(6, 3))) != 0;
         boolean redGuardOnD1 = (state.redGuard & GameState.bit(getIndex(0, 3))) != 0;
@@ -544,7 +454,7 @@ public class Minimax {
     // === TIME-AWARE EVALUATION FUNCTION ===
     public static int evaluate(GameState state, int depth) {
         // Quick evaluation in time pressure
-        if (remainingTimeMs < 10000) { // Less than 10 seconds
+        if (SearchContext.current().remainingTimeMs < 10000) { // Less than 10 seconds
             return evaluateQuick(state, depth);
         }
 
@@ -566,9 +476,7 @@ public class Minimax {
         int eval = 0;
 
         // Quick material count
-        for (int i = 0; i < GameState.NUM_SQUARES; i++) {
-            eval += (state.redStackHeights[i] - state.blueStackHeights[i]) * MATERIAL_VALUE;
-        }
+        eval += (state.redMaterial - state.blueMaterial) * MATERIAL_VALUE;
 
         // Quick guard advancement
         if (state.redGuard != 0) {
@@ -599,150 +507,12 @@ public class Minimax {
         if (state.redGuard == 0 || blueWinsByCastle) return -CASTLE_REACH_SCORE - depth;
         if (state.blueGuard == 0 || redWinsByCastle) return CASTLE_REACH_SCORE + depth;
 
-        int evaluation = 0;
-
-        // === GUARD SAFETY EVALUATION ===
-        evaluation += evaluateGuardSafety(state);
-
-        // === MATERIAL EVALUATION ===
-        evaluation += evaluateMaterial(state);
-
-        // === POSITIONAL EVALUATION ===
-        evaluation += evaluatePositional(state);
-
-        // === TEMPO BONUS ===
-        if (state.redToMove) {
-            evaluation += 30; // Small bonus for having the move
-        } else {
-            evaluation -= 30;
-        }
-
-        // === ENDGAME EVALUATION ===
-        if (isEndgame(state)) {
-            evaluation += evaluateEndgame(state);
-        }
-
-        return evaluation;
-    }
-
-    /**
-     * Simplified guard safety evaluation
-     */
-    private static int evaluateGuardSafety(GameState state) {
-        int safetyScore = 0;
-
-        boolean redInDanger = isGuardInDangerFast(state, true);
-        boolean blueInDanger = isGuardInDangerFast(state, false);
-
-        if (redInDanger) safetyScore -= GUARD_DANGER_PENALTY;
-        if (blueInDanger) safetyScore += GUARD_DANGER_PENALTY;
-
-        return safetyScore;
-    }
-
-    /**
-     * Material evaluation
-     */
-    private static int evaluateMaterial(GameState state) {
-        int materialScore = 0;
-
-        for (int i = 0; i < GameState.NUM_SQUARES; i++) {
-            int redHeight = state.redStackHeights[i];
-            int blueHeight = state.blueStackHeights[i];
-
-            // Basic material value
-            materialScore += (redHeight - blueHeight) * MATERIAL_VALUE;
-
-            // Mobility bonus for tall towers
-            if (redHeight > 1) {
-                materialScore += redHeight * 10;
-            }
-            if (blueHeight > 1) {
-                materialScore -= blueHeight * 10;
-            }
-        }
-
-        return materialScore;
-    }
-
-    /**
-     * Positional evaluation
-     */
-    private static int evaluatePositional(GameState state) {
-        int positionalScore = 0;
-
-        // Guard advancement
-        positionalScore += evaluateGuardAdvancement(state);
-
-        // Central control
-        positionalScore += evaluateCentralControl(state);
-
-        return positionalScore;
-    }
-
-    /**
-     * Evaluate guard advancement
-     */
-    private static int evaluateGuardAdvancement(GameState state) {
-        int advancementScore = 0;
-
-        // Red guard advancement
-        if (state.redGuard != 0) {
-            int redGuardPos = Long.numberOfTrailingZeros(state.redGuard);
-            int redRank = GameState.rank(redGuardPos);
-            int distanceToTarget = redRank;
-
-            advancementScore += (6 - distanceToTarget) * GUARD_ADVANCEMENT_BONUS;
-
-            int redFile = GameState.file(redGuardPos);
-            int fileDistance = Math.abs(redFile - 3);
-            advancementScore += (3 - fileDistance) * 20;
-        }
-
-        // Blue guard advancement
-        if (state.blueGuard != 0) {
-            int blueGuardPos = Long.numberOfTrailingZeros(state.blueGuard);
-            int blueRank = GameState.rank(blueGuardPos);
-            int distanceToTarget = 6 - blueRank;
-
-            advancementScore -= (6 - distanceToTarget) * GUARD_ADVANCEMENT_BONUS;
-
-            int blueFile = GameState.file(blueGuardPos);
-            int fileDistance = Math.abs(blueFile - 3);
-            advancementScore -= (3 - fileDistance) * 20;
-        }
-
-        return advancementScore;
-    }
-
-    /**
-     * Evaluate central control
-     */
-    private static int evaluateCentralControl(GameState state) {
-        int centralScore = 0;
-
-        for (int square : centralSquares) {
-            long redBit = state.redTowers | state.redGuard;
-            long blueBit = state.blueTowers | state.blueGuard;
-
-            if ((redBit & GameState.bit(square)) != 0) {
-                centralScore += CENTRAL_CONTROL_BONUS;
-                int height = state.redStackHeights[square];
-                centralScore += height * 10;
-            }
-
-            if ((blueBit & GameState.bit(square)) != 0) {
-                centralScore -= CENTRAL_CONTROL_BONUS;
-                int height = state.blueStackHeights[square];
-                centralScore -= height * 10;
-            }
-        }
-
-        return centralScore;
+        // Tapered feature evaluation (guard safety, material, piece-square, tempo, guard race)
+        return FeatureEvaluator.evaluate(state);
     }
 
     // === HELPER METHODS ===
-    private static int manhattanDistance(int index1, int index2) {
+    static int manhattanDistance(int index1, int index2) {
         int rank1 = GameState.rank(index1);
         int file1 = GameState.file(index1);
         int rank2 = GameState.rank(index2);
@@ -809,29 +579,4 @@ public class Minimax {
     public static boolean isGuardInDangerImproved(GameState state, boolean checkRed) {
         return isGuardInDangerFast(state, checkRed);
     }
-
-    private static boolean isEndgame(GameState state) {
-        int totalPieces = 0;
-        for (int i = 0; i < GameState.NUM_SQUARES; i++) {
-            totalPieces += state.redStackHeights[i] + state.blueStackHeights[i];
-        }
-        return totalPieces <= 8;
-    }
-
-    private static int evaluateEndgame(GameState state) {
-        int endgameScore = 0;
-
-        // Guard advancement is crucial in endgame
-        if (state.redGuard != 0) {
-            int redRank = GameState.rank(Long.numberOfTrailingZeros(state.redGuard));
-            endgameScore += (6 - redRank) * 100;
-        }
-
-        if (state.blueGuard != 0) {
-            int blueRank = GameState.rank(Long.numberOfTrailingZeros(state.blueGuard));
-            endgameScore -= blueRank * 100;
-        }
-
-        return endgameScore;
-    }
 }
\ No newline at end of file
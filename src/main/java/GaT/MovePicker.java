@@ -0,0 +1,190 @@
+package GaT;
+
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+
+import java.util.List;
+
+/**
+ * Staged move ordering for the interior search.
+ *
+ * Moves are handed out in stages: TT move, tactical moves (captures and guard
+ * moves), PV move, killers and countermove, then the remaining quiet moves by
+ * history and follow-up history.
+ * Each stage is only scored when it is reached and picked by selection, so a
+ * cutoff on an early move saves the scoring and sorting of the quiet moves.
+ */
+final class MovePicker {
+
+    private static final int STAGE_TT = 0;
+    private static final int STAGE_TACTICAL = 1;
+    private static final int STAGE_KILLERS = 2;
+    private static final int STAGE_QUIETS = 3;
+    private static final int STAGE_DONE = 4;
+
+    private static final int GUARD_ESCAPE_BONUS = 1500;
+    private static final int FOLLOW_UP_DIVISOR = 2;   // Follow-up history counts half of the plain history
+
+    private final SearchContext ctx;
+    private final GameState state;
+    private final List<Move> moves;
+    private final int ply;
+    private Move ttMove;
+
+    private int stage = STAGE_TT;
+
+    private Move[] tactical;
+    private int[] tacticalScores;
+    private int tacticalCount;
+    private int tacticalIndex;
+
+    private Move[] quiets;
+    private int[] quietScores;
+    private int quietCount;
+    private int quietIndex;
+    private int killerIndex;
+
+    MovePicker(SearchContext ctx, GameState state, List<Move> moves, int ply, Move ttMove) {
+        this.ctx = ctx;
+        this.state = state;
+        this.moves = moves;
+        this.ply = ply;
+        this.ttMove = ttMove;
+    }
+
+    /**
+     * @return next move to search, or null when all moves were returned
+     */
+    Move next() {
+        while (true) {
+            switch (stage) {
+                case STAGE_TT:
+                    stage = STAGE_TACTICAL;
+                    if (ttMove != null && moves.contains(ttMove)) {
+                        return ttMove;
+                    }
+                    ttMove = null;
+                    break;
+
+                case STAGE_TACTICAL:
+                    if (tactical == null) {
+                        partition();
+                    }
+                    if (tacticalIndex < tacticalCount) {
+                        return pickBest(tactical, tacticalScores, tacticalIndex++, tacticalCount);
+                    }
+                    stage = STAGE_KILLERS;
+                    break;
+
+                case STAGE_KILLERS:
+                    Move killer = nextKiller();
+                    if (killer != null) {
+                        return killer;
+                    }
+                    scoreQuiets();
+                    stage = STAGE_QUIETS;
+                    break;
+
+                case STAGE_QUIETS:
+                    if (quietIndex < quietCount) {
+                        return pickBest(quiets, quietScores, quietIndex++, quietCount);
+                    }
+                    stage = STAGE_DONE;
+                    break;
+
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Splits the moves (without the TT move) into tactical and quiet moves
+     */
+    private void partition() {
+        int size = moves.size();
+        tactical = new Move[size];
+        tacticalScores = new int[size];
+        quiets = new Move[size];
+        quietScores = new int[size];
+
+        boolean guardInDanger = Minimax.isGuardInDangerImproved(state, state.redToMove);
+
+        for (Move move : moves) {
+            if (move.equals(ttMove)) continue;
+
+            boolean guardMove = Minimax.isGuardMove(move, state);
+            if (guardMove || Minimax.isCapture(move, state)) {
+                int score = Minimax.scoreMove(state, move);
+                if (guardMove && guardInDanger) {
+                    score += GUARD_ESCAPE_BONUS;
+                }
+                tactical[tacticalCount] = move;
+                tacticalScores[tacticalCount++] = score;
+            } else {
+                quiets[quietCount++] = move;
+            }
+        }
+    }
+
+    /**
+     * Returns PV move, killers of this ply and the countermove if they are quiet moves
+     * of this position. Found moves are swapped to the front of the quiet list and skipped later.
+     */
+    private Move nextKiller() {
+        while (killerIndex < 4) {
+            Move candidate = killerCandidate(killerIndex++);
+            if (candidate == null) continue;
+
+            for (int i = quietIndex; i < quietCount; i++) {
+                if (quiets[i].equals(candidate)) {
+                    quiets[i] = quiets[quietIndex];
+                    quiets[quietIndex++] = candidate;
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Move killerCandidate(int index) {
+        switch (index) {
+            case 0:
+                return ply < ctx.pvLine.length ? ctx.pvLine[ply] : null;
+            case 1:
+            case 2:
+                return ply < ctx.killerMoves.length ? ctx.killerMoves[ply][index - 1] : null;
+            default:
+                return Minimax.getCounterMove(ctx, state, ply);
+        }
+    }
+
+    private void scoreQuiets() {
+        for (int i = quietIndex; i < quietCount; i++) {
+            Move move = quiets[i];
+            quietScores[i] = Minimax.getHistoryScore(ctx, state, move)
+                    + Minimax.getFollowUpScore(ctx, state, ply, move) / FOLLOW_UP_DIVISOR
+                    + Minimax.getPositionalDelta(move, state);
+        }
+    }
+
+    /**
+     * Selection step: swaps the best remaining move to position start and returns it
+     */
+    private static Move pickBest(Move[] list, int[] scores, int start, int end) {
+        int best = start;
+        for (int i = start + 1; i < end; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+
+        Move move = list[best];
+        int score = scores[best];
+        list[best] = list[start];
+        scores[best] = scores[start];
+        list[start] = move;
+        scores[start] = score;
+        return move;
+    }
+}
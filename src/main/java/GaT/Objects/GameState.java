@@ -19,6 +19,13 @@ public class GameState {
 
     public boolean redToMove = true;
 
+    // Running evaluation terms, kept up to date by applyMove:
+    // material = sum of tower heights, psq = piece-square values (PieceSquareTables), per side
+    public int redMaterial;
+    public int blueMaterial;
+    public int redPsq;
+    public int bluePsq;
+
     private static final long[][] ZOBRIST_RED_TOWER = new long[49][8];
     private static final long[][] ZOBRIST_BLUE_TOWER = new long[49][8];
     private static final long[] ZOBRIST_RED_GUARD = new long[49];
@@ -133,6 +140,7 @@ public class GameState {
                 blueGuard &= ~fromBit;
                 blueGuard |= toBit;
             }
+            addPsq(isRed, PieceSquareTables.guard(isRed, to) - PieceSquareTables.guard(isRed, from));
 
             // Remove captured enemy piece (checking if it is free before would take the same time so we just clear it)
             clearEnemyPieceAt(to, !isRed);
@@ -144,7 +152,10 @@ public class GameState {
             int[] stackHeights = isRed ? redStackHeights : blueStackHeights;
             long towers = isRed ? redTowers : blueTowers;
 
+            int fromHeight = stackHeights[from];
             stackHeights[from] -= amount;
+            addPsq(isRed, PieceSquareTables.tower(isRed, from, Math.max(stackHeights[from], 0))
+                    - PieceSquareTables.tower(isRed, from, fromHeight));
             if (stackHeights[from] <= 0) {
                 // Remove tower from source
                 towers &= ~fromBit;
@@ -157,7 +168,10 @@ public class GameState {
 
             // Stack on destination
             int[] targetStacks = isRed ? redStackHeights : blueStackHeights;
+            int toHeight = targetStacks[to];
             targetStacks[to] += amount;
+            addPsq(isRed, PieceSquareTables.tower(isRed, to, targetStacks[to])
+                    - PieceSquareTables.tower(isRed, to, toHeight));
 
             // Store back updated bitboards
             if (isRed) {
@@ -176,6 +190,15 @@ public class GameState {
     private void clearEnemyPieceAt(int index, boolean isRed) {
         long mask = ~bit(index);        //Only the target index is off
 
+        if (((isRed ? redGuard : blueGuard) & bit(index)) != 0) {
+            addPsq(isRed, -PieceSquareTables.guard(isRed, index));
+        }
+        int height = isRed ? redStackHeights[index] : blueStackHeights[index];
+        if (height > 0) {
+            addPsq(isRed, -PieceSquareTables.tower(isRed, index, height));
+            if (isRed) redMaterial -= height; else blueMaterial -= height;
+        }
+
         if (isRed) {
             redTowers &= mask;      //remove piece from index
             redGuard &= mask;
@@ -187,6 +210,42 @@ public class GameState {
         }
     }
 
+    private void addPsq(boolean isRed, int delta) {
+        if (isRed) {
+            redPsq += delta;
+        } else {
+            bluePsq += delta;
+        }
+    }
+
+    /**
+     * Recomputes material and piece-square sums from the board.
+     * Needed after changing the public fields directly instead of through applyMove.
+     */
+    public final void refreshAccumulators() {
+        redMaterial = 0;
+        blueMaterial = 0;
+        redPsq = 0;
+        bluePsq = 0;
+
+        for (int i = 0; i < NUM_SQUARES; i++) {
+            if (redStackHeights[i] > 0) {
+                redMaterial += redStackHeights[i];
+                redPsq += PieceSquareTables.tower(true, i, redStackHeights[i]);
+            }
+            if (blueStackHeights[i] > 0) {
+                blueMaterial += blueStackHeights[i];
+                bluePsq += PieceSquareTables.tower(false, i, blueStackHeights[i]);
+            }
+        }
+        if (redGuard != 0) {
+            redPsq += PieceSquareTables.guard(true, Long.numberOfTrailingZeros(redGuard));
+        }
+        if (blueGuard != 0) {
+            bluePsq += PieceSquareTables.guard(false, Long.numberOfTrailingZeros(blueGuard));
+        }
+    }
+
 
 
     public GameState() {
@@ -223,6 +282,7 @@ public class GameState {
         }
 
         redToMove = true;
+        refreshAccumulators();
     }
 
 
@@ -239,18 +299,26 @@ public class GameState {
         this.blueStackHeights = Arrays.copyOf(blackHeights, NUM_SQUARES);
 
         this.redToMove = redToMove;
+        refreshAccumulators();
+    }
+
+    // Copy constructor, skips setting up the start position
+    private GameState(GameState other) {
+        redGuard = other.redGuard;
+        blueGuard = other.blueGuard;
+        redTowers = other.redTowers;
+        blueTowers = other.blueTowers;
+        redToMove = other.redToMove;
+        System.arraycopy(other.redStackHeights, 0, redStackHeights, 0, NUM_SQUARES);
+        System.arraycopy(other.blueStackHeights, 0, blueStackHeights, 0, NUM_SQUARES);
+        redMaterial = other.redMaterial;
+        blueMaterial = other.blueMaterial;
+        redPsq = other.redPsq;
+        bluePsq = other.bluePsq;
     }
 
     public GameState copy() {
-        GameState copy = new GameState();
-        copy.redGuard = this.redGuard;
-        copy.blueGuard = this.blueGuard;
-        copy.redTowers = this.redTowers;
-        copy.blueTowers = this.blueTowers;
-        copy.redToMove = this.redToMove;
-        copy.redStackHeights = Arrays.copyOf(this.redStackHeights, NUM_SQUARES);
-        copy.blueStackHeights = Arrays.copyOf(this.blueStackHeights, NUM_SQUARES);
-        return copy;
+        return new GameState(this);
     }
 
 
@@ -324,16 +392,17 @@ public class GameState {
 
                 if (ch == 'r' || ch == 'b') {
                     boolean isBlue = ch == 'b';
-                    int start = i + 1;
-                    while (start < row.length() && Character.isDigit(row.charAt(start))) {
-                        start++;
-                    }
 
+                    // Height is exactly one digit, so "r11" is a tower of 1 followed by one empty square
                     int height = 1;
-                    if (start > i + 1) {
-                        height = Integer.parseInt(row.substring(i + 1, start));
+                    i++;
+                    if (i < row.length() && Character.isDigit(row.charAt(i))) {
+                        height = row.charAt(i) - '0';
+                        i++;
+                    }
+                    if (height < 1 || height > PieceSquareTables.MAX_HEIGHT) {
+                        throw new IllegalArgumentException("Invalid FEN: tower height " + height);
                     }
-                    i = start;
 
                     if (isBlue) {
                         state.blueTowers |= bit(index);
@@ -363,11 +432,49 @@ public class GameState {
 
         // Turn
         state.redToMove = turnPart.equals("r");
+        state.refreshAccumulators();
 
         return state;
     }
 
 
+    /**
+     * @return the position in the notation {@link #fromFen(String)} reads: a tower is r/b plus
+     * its height as one digit, any other digit counts empty squares
+     */
+    public String toFen() {
+        StringBuilder fen = new StringBuilder();
+
+        for (int rank = BOARD_SIZE - 1; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < BOARD_SIZE; file++) {
+                int index = getIndex(rank, file);
+                String piece = null;
+
+                if ((redGuard & bit(index)) != 0) piece = "RG";
+                else if ((blueGuard & bit(index)) != 0) piece = "BG";
+                else if ((redTowers & bit(index)) != 0) piece = "r" + redStackHeights[index];
+                else if ((blueTowers & bit(index)) != 0) piece = "b" + blueStackHeights[index];
+
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                fen.append(piece);
+            }
+            if (empty > 0) fen.append(empty);
+            if (rank > 0) fen.append('/');
+        }
+
+        fen.append(redToMove ? " r" : " b");
+        return fen.toString();
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof GameState gameState)) return false;
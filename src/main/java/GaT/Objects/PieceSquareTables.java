@@ -0,0 +1,207 @@
+package GaT.Objects;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Piece-square values per side, piece type and tower height, used for the
+ * incremental positional score of {@link GameState}. Values are from the
+ * owner's point of view.
+ *
+ * The built-in defaults hold the former hand-coded terms: guard advancement
+ * by rank and file, central control on D3-D5 and tall-tower mobility. A table
+ * file replaces them, either given with -Dgat.pst=&lt;file&gt; or via {@link #load(Path)}.
+ *
+ * File format: '#' starts a comment. Each table is a header line
+ * "guard &lt;red|blue&gt;" or "tower &lt;red|blue&gt; &lt;height&gt;" followed by 7 rows of
+ * 7 values, rank 7 first and files A-G, as the board is printed. Tables
+ * missing in the file keep their current values.
+ */
+public final class PieceSquareTables {
+
+    public static final int MAX_HEIGHT = 7;
+    public static final String FILE_PROPERTY = "gat.pst";
+
+    // Defaults
+    private static final int GUARD_ADVANCEMENT_BONUS = 40;   // Per rank towards the enemy castle
+    private static final int GUARD_FILE_BONUS = 20;          // Per file closer to the D file
+    private static final int CENTRAL_CONTROL_BONUS = 25;
+    private static final int CENTRAL_HEIGHT_BONUS = 10;
+    private static final int TALL_TOWER_BONUS = 10;
+
+    // TOWER[side][square][height], GUARD[side][square]; side 0 = red, 1 = blue
+    private static final int[][][] TOWER = new int[2][GameState.NUM_SQUARES][MAX_HEIGHT + 1];
+    private static final int[][] GUARD = new int[2][GameState.NUM_SQUARES];
+
+    static {
+        setDefaults();
+
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            try {
+                load(Paths.get(file));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Piece-square tables not loaded from " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * @return value of a tower of the given height, 0 for height 0
+     */
+    public static int tower(boolean red, int square, int height) {
+        return TOWER[red ? 0 : 1][square][Math.min(height, MAX_HEIGHT)];
+    }
+
+    public static int guard(boolean red, int square) {
+        return GUARD[red ? 0 : 1][square];
+    }
+
+    /**
+     * Restores the built-in tables
+     */
+    public static void setDefaults() {
+        for (int side = 0; side < 2; side++) {
+            boolean red = side == 0;
+            for (int square = 0; square < GameState.NUM_SQUARES; square++) {
+                int rank = GameState.rank(square);
+                int fileDistance = Math.abs(GameState.file(square) - 3);
+                boolean central = fileDistance == 0 && rank >= 2 && rank <= 4;
+
+                TOWER[side][square][0] = 0;
+                for (int height = 1; height <= MAX_HEIGHT; height++) {
+                    int value = height > 1 ? height * TALL_TOWER_BONUS : 0;
+                    if (central) {
+                        value += CENTRAL_CONTROL_BONUS + height * CENTRAL_HEIGHT_BONUS;
+                    }
+                    TOWER[side][square][height] = value;
+                }
+
+                // Red guard runs towards rank 1, blue guard towards rank 7
+                int advancement = red ? 6 - rank : rank;
+                GUARD[side][square] = advancement * GUARD_ADVANCEMENT_BONUS
+                        + (3 - fileDistance) * GUARD_FILE_BONUS
+                        + (central ? CENTRAL_CONTROL_BONUS : 0);
+            }
+        }
+    }
+
+    /**
+     * Reads tables from a file. GameStates that exist already keep their old sums
+     * until {@link GameState#refreshAccumulators()} is called, so load before the game starts.
+     *
+     * @throws IllegalArgumentException for a malformed file; no table is changed then
+     */
+    public static void load(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!content.isEmpty()) lines.add(content);
+        }
+
+        int[][][] tower = new int[2][GameState.NUM_SQUARES][];
+        int[][] guard = new int[2][];
+
+        int i = 0;
+        while (i < lines.size()) {
+            String[] header = lines.get(i++).split("\\s+");
+            int side = parseSide(header);
+            int[] values = parseBoard(lines, i, String.join(" ", header));
+            i += GameState.BOARD_SIZE;
+
+            if (header[0].equals("guard") && header.length == 2) {
+                guard[side] = values;
+            } else if (header[0].equals("tower") && header.length == 3) {
+                int height = Integer.parseInt(header[2]);
+                if (height < 1 || height > MAX_HEIGHT) {
+                    throw new IllegalArgumentException("Tower height out of range: " + height);
+                }
+                for (int square = 0; square < GameState.NUM_SQUARES; square++) {
+                    if (tower[side][square] == null) tower[side][square] = TOWER[side][square].clone();
+                    tower[side][square][height] = values[square];
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown table: " + String.join(" ", header));
+            }
+        }
+
+        for (int side = 0; side < 2; side++) {
+            if (guard[side] != null) GUARD[side] = guard[side];
+            for (int square = 0; square < GameState.NUM_SQUARES; square++) {
+                if (tower[side][square] != null) TOWER[side][square] = tower[side][square];
+            }
+        }
+    }
+
+    /**
+     * Writes all tables in the format read by {@link #load(Path)}
+     */
+    public static void save(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("# Guard & Towers piece-square tables, rank 7 first, files A-G");
+            for (int side = 0; side < 2; side++) {
+                String name = side == 0 ? "red" : "blue";
+                out.println("guard " + name);
+                writeBoard(out, GUARD[side]);
+                for (int height = 1; height <= MAX_HEIGHT; height++) {
+                    out.println("tower " + name + " " + height);
+                    int[] values = new int[GameState.NUM_SQUARES];
+                    for (int square = 0; square < GameState.NUM_SQUARES; square++) {
+                        values[square] = TOWER[side][square][height];
+                    }
+                    writeBoard(out, values);
+                }
+            }
+        }
+    }
+
+    private static int parseSide(String[] header) {
+        if (header.length < 2) {
+            throw new IllegalArgumentException("Expected table header, got: " + String.join(" ", header));
+        }
+        switch (header[1]) {
+            case "red": return 0;
+            case "blue": return 1;
+            default: throw new IllegalArgumentException("Unknown side: " + header[1]);
+        }
+    }
+
+    private static int[] parseBoard(List<String> lines, int start, String table) {
+        if (start + GameState.BOARD_SIZE > lines.size()) {
+            throw new IllegalArgumentException("Table " + table + " has less than " + GameState.BOARD_SIZE + " rows");
+        }
+
+        int[] values = new int[GameState.NUM_SQUARES];
+        for (int row = 0; row < GameState.BOARD_SIZE; row++) {
+            String[] cells = lines.get(start + row).split("\\s+");
+            if (cells.length != GameState.BOARD_SIZE) {
+                throw new IllegalArgumentException("Table " + table + ": expected " + GameState.BOARD_SIZE
+                        + " values in row " + (row + 1));
+            }
+            int rank = GameState.BOARD_SIZE - 1 - row;
+            for (int file = 0; file < GameState.BOARD_SIZE; file++) {
+                values[GameState.getIndex(rank, file)] = Integer.parseInt(cells[file]);
+            }
+        }
+        return values;
+    }
+
+    private static void writeBoard(PrintWriter out, int[] values) {
+        for (int rank = GameState.BOARD_SIZE - 1; rank >= 0; rank--) {
+            StringBuilder row = new StringBuilder();
+            for (int file = 0; file < GameState.BOARD_SIZE; file++) {
+                row.append(String.format("%5d", values[GameState.getIndex(rank, file)]));
+            }
+            out.println(row);
+        }
+    }
+}
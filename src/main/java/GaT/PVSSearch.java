@@ -5,385 +5,439 @@ import GaT.Objects.Move;
 import GaT.Objects.TTEntry;
 
 import java.util.List;
-import java.util.function.BooleanSupplier;
 
+/**
+ * Negamax-Kern für alle Suchstrategien.
+ *
+ * Alpha-Beta, Alpha-Beta mit Quiescence, PVS und PVS mit Quiescence laufen durch
+ * denselben Code; die Strategie schaltet nur Features ein (siehe {@link Minimax.SearchStrategy}).
+ * Intern sind alle Scores aus Sicht der Seite am Zug, nach außen (search-Methoden)
+ * aus Sicht von Rot wie im Rest der Engine.
+ */
 public class PVSSearch {
 
-    private static BooleanSupplier timeoutChecker = null;
+    // Größer als jede Bewertung, aber weit weg von Integer-Überläufen beim Negieren
+    public static final int INFINITY = 1_000_000;
+
+    // === NULL MOVE PRUNING ===
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_BASE_R = 2;           // R = 2 + depth / 6
+    private static final int NULL_MOVE_DEPTH_DIVISOR = 6;
+    private static final int NULL_MOVE_VERIFY_DEPTH = 6;     // Ab hier wird ein Null-Move-Cutoff verifiziert (abschaltbar, SearchConfig)
+
+    // === LATE MOVE REDUCTIONS ===
+    // Reduktion aus der vorberechneten Tabelle der SearchConfig
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_MIN_MOVE_INDEX = 3;
+
+    // === FUTILITY PRUNING ===
+    // Margen pro Resttiefe aus der SearchConfig
+    private static final int FUTILITY_MAX_DEPTH = SearchConfig.FUTILITY_MAX_DEPTH;
+    private static final int PRUNING_SCORE_LIMIT = 2000;     // Nahe Gewinn/Verlust wird nicht geprunt
+
+    // === INTERNAL ITERATIVE DEEPENING ===
+    private static final int IID_MIN_DEPTH = 4;
+    private static final int IID_REDUCTION = 2;
+
+    // === EXTENSIONS ===
+    // Bruchteile eines Zuges in Einheiten von ONE_PLY; volle Züge werden entlang der Linie angespart
+    private static final int ONE_PLY = 4;
+    private static final int GUARD_ATTACK_EXTENSION = 2;       // Zug greift den gegnerischen Wächter an
+    private static final int GUARD_ESCAPE_EXTENSION = 3;       // Wächter flieht aus einem Angriff
+    private static final int CASTLE_APPROACH_EXTENSION = 4;    // Wächter höchstens 2 Felder vor dem Schloss
+    private static final int CASTLE_APPROACH_DISTANCE = 2;
+    private static final int MAX_EXTENSIONS_PER_LINE = 4;      // Budget in vollen Zügen pro Linie
+
+    // === SINGULAR EXTENSIONS ===
+    private static final int SINGULAR_MIN_DEPTH = 6;
+    private static final int SINGULAR_TT_DEPTH_MARGIN = 3;     // TT-Eintrag höchstens so viel flacher als depth
+    private static final int SINGULAR_MARGIN_PER_PLY = 16;     // singularBeta = ttScore - depth * Marge
 
     /**
      * Standard PVS ohne Quiescence
      */
     public static int search(GameState state, int depth, int alpha, int beta,
                              boolean maximizingPlayer, boolean isPVNode) {
+        return search(state, depth, alpha, beta, maximizingPlayer, isPVNode, Minimax.SearchStrategy.PVS);
+    }
 
-        if (timeoutChecker != null && timeoutChecker.getAsBoolean()) {
-            throw new RuntimeException("Timeout");
-        }
-
-        // TT-Lookup nur bei Non-PV Knoten oder mit Vorsicht
-        long hash = state.hash();
-        TTEntry entry = Minimax.getTranspositionEntry(hash);
-        if (entry != null && entry.depth >= depth) {
-            // In PV-Knoten nur EXACT Scores verwenden
-            if (entry.flag == TTEntry.EXACT && (!isPVNode || depth <= 0)) {
-                return entry.score;
-            } else if (!isPVNode) { // Nur in Non-PV normale TT-Cutoffs
-                if (entry.flag == TTEntry.LOWER_BOUND && entry.score >= beta) {
-                    return entry.score;
-                } else if (entry.flag == TTEntry.UPPER_BOUND && entry.score <= alpha) {
-                    return entry.score;
-                }
-            }
-        }
-
-        // Terminal conditions
-        if (depth == 0 || Minimax.isGameOver(state)) {
-            return Minimax.evaluate(state, depth);
-        }
+    /**
+     * PVS mit Quiescence Search Integration
+     */
+    public static int searchWithQuiescence(GameState state, int depth, int alpha, int beta,
+                                           boolean maximizingPlayer, boolean isPVNode) {
+        return search(state, depth, alpha, beta, maximizingPlayer, isPVNode, Minimax.SearchStrategy.PVS_Q);
+    }
 
-        List<Move> moves = MoveGenerator.generateAllMoves(state);
+    /**
+     * Einstieg mit Rot-Sicht: Fenster und Ergebnis werden für die Seite am Zug umgerechnet
+     */
+    public static int search(GameState state, int depth, int alpha, int beta,
+                             boolean maximizingPlayer, boolean isPVNode, Minimax.SearchStrategy strategy) {
+        return search(state, depth, alpha, beta, maximizingPlayer, isPVNode, strategy, 0);
+    }
 
-        // Verschiedene Move Ordering für PV vs Non-PV
-        if (isPVNode) {
-            orderMovesForPV(moves, state, depth, entry);
-        } else {
-            Minimax.orderMovesAdvanced(moves, state, depth, entry);
+    /**
+     * @param ply Abstand zur Wurzel; die Züge davor müssen im moveStack des Kontexts stehen
+     */
+    static int search(GameState state, int depth, int alpha, int beta,
+                      boolean maximizingPlayer, boolean isPVNode, Minimax.SearchStrategy strategy, int ply) {
+        SearchContext ctx = SearchContext.current();
+        if (ply == 0) {
+            ctx.restartPolling();   // Eigenständige Suche ohne searchRoot
         }
-
-        Move bestMove = null;
-        int originalAlpha = alpha;
-        boolean isFirstMove = true;
+        alpha = Math.max(alpha, -INFINITY);
+        beta = Math.min(beta, INFINITY);
+        ctx.extensionUnits[ply] = 0;
+        ctx.extensionsUsed[ply] = 0;
 
         if (maximizingPlayer) {
-            int maxEval = Integer.MIN_VALUE;
-
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                Minimax.counter++;
-
-                int eval;
-
-                if (isFirstMove || isPVNode) {
-                    // Erste Züge UND PV-Knoten bekommen volle Suche
-                    eval = search(copy, depth - 1, alpha, beta, false, isPVNode);
-                    isFirstMove = false;
-                } else {
-                    // Weniger aggressive Null-Window für bessere Differenzierung
-                    int nullWindow = isPVNode ? alpha + 10 : alpha + 1;
-                    eval = search(copy, depth - 1, alpha, nullWindow, false, false);
-
-                    if (eval > alpha && eval < beta) {
-                        // Re-search mit vollem Fenster
-                        eval = search(copy, depth - 1, eval, beta, false, true);
-                    }
-                }
-
-                if (eval > maxEval) {
-                    maxEval = eval;
-                    bestMove = move;
-                }
-
-                alpha = Math.max(alpha, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
-                }
-            }
-
-            storeTTEntry(hash, maxEval, depth, originalAlpha, beta, bestMove);
-            return maxEval;
-
-        } else {
-            int minEval = Integer.MAX_VALUE;
-
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                Minimax.counter++;
-
-                int eval;
-
-                if (isFirstMove || isPVNode) {
-                    eval = search(copy, depth - 1, alpha, beta, true, isPVNode);
-                    isFirstMove = false;
-                } else {
-                    int nullWindow = isPVNode ? beta - 10 : beta - 1;
-                    eval = search(copy, depth - 1, nullWindow, beta, true, false);
-
-                    if (eval < beta && eval > alpha) {
-                        eval = search(copy, depth - 1, alpha, eval, true, true);
-                    }
-                }
-
-                if (eval < minEval) {
-                    minEval = eval;
-                    bestMove = move;
-                }
-
-                beta = Math.min(beta, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
-                }
-            }
-
-            storeTTEntry(hash, minEval, depth, originalAlpha, beta, bestMove);
-            return minEval;
+            return negamax(ctx, state, depth, ply, alpha, beta, isPVNode, true, strategy);
         }
+        return -negamax(ctx, state, depth, ply, -beta, -alpha, isPVNode, true, strategy);
     }
 
     /**
-     * PVS mit Quiescence Search Integration
+     * Negamax mit optionaler PVS, Quiescence und Forward Pruning
+     *
+     * @param allowNullMove false direkt nach einem Null-Move und in der Verifikation
      */
-    public static int searchWithQuiescence(GameState state, int depth, int alpha, int beta,
-                                           boolean maximizingPlayer, boolean isPVNode) {
+    static int negamax(SearchContext ctx, GameState state, int depth, int ply, int alpha, int beta,
+                       boolean isPVNode, boolean allowNullMove, Minimax.SearchStrategy strategy) {
+        ctx.checkAbort();
+        SearchConfig config = ctx.getConfig();
 
-        if (timeoutChecker != null && timeoutChecker.getAsBoolean()) {
-            throw new RuntimeException("Timeout");
+        // Spiel entschieden: der vorige Zug hat gewonnen, die Seite am Zug hat verloren
+        if (Minimax.isGameOver(state)) {
+            return -(Minimax.WIN_SCORE - ply);
         }
 
-        // TT-Lookup nur bei Non-PV Knoten oder mit Vorsicht
+        // Mate Distance Pruning: besser als ein Gewinn im nächsten Zug oder schlechter
+        // als ein Verlust jetzt geht nicht - ist das Fenster damit leer, ist der Knoten entschieden
+        alpha = Math.max(alpha, -(Minimax.WIN_SCORE - ply));
+        beta = Math.min(beta, Minimax.WIN_SCORE - ply - 1);
+        if (alpha >= beta) {
+            return alpha;
+        }
+
+        // TT-Lookup: in PV-Knoten der PVS keine Cutoffs, in der Singular-Suche gar keine
+        // (der Eintrag gehört zur Suche mit allen Zügen)
         long hash = state.hash();
-        TTEntry entry = Minimax.getTranspositionEntry(hash);
-        if (entry != null && entry.depth >= depth) {
-            // In PV-Knoten nur EXACT Scores verwenden
-            if (entry.flag == TTEntry.EXACT && (!isPVNode || depth <= 0)) {
-                return entry.score;
-            } else if (!isPVNode) { // Nur in Non-PV normale TT-Cutoffs
-                if (entry.flag == TTEntry.LOWER_BOUND && entry.score >= beta) {
-                    return entry.score;
-                } else if (entry.flag == TTEntry.UPPER_BOUND && entry.score <= alpha) {
-                    return entry.score;
-                }
+        Move excludedMove = ctx.excludedMove[ply];
+        TTEntry entry = ctx.transpositionTable.get(hash);
+        if (entry != null && excludedMove == null && entry.depth >= depth && !(isPVNode && strategy.pvs)) {
+            int ttScore = scoreFromTT(entry.score, ply);
+            if (entry.flag == TTEntry.EXACT) {
+                return ttScore;
+            } else if (entry.flag == TTEntry.LOWER_BOUND && ttScore >= beta) {
+                return ttScore;
+            } else if (entry.flag == TTEntry.UPPER_BOUND && ttScore <= alpha) {
+                return ttScore;
             }
         }
 
-        // Terminal conditions
-        if (Minimax.isGameOver(state)) {
-            return Minimax.evaluate(state, depth);
+        // Horizont ohne Quiescence oder maximale Suchtiefe erreicht
+        boolean redToMove = state.redToMove;
+        if ((depth <= 0 && !strategy.quiescence) || ply >= SearchContext.MAX_PLY - 1) {
+            int eval = Minimax.evaluate(state, depth);
+            return redToMove ? eval : -eval;
         }
 
         // Quiescence Search wenn Tiefe erschöpft
         if (depth <= 0) {
-            return QuiescenceSearch.quiesce(state, alpha, beta, maximizingPlayer, 0);
+            return redToMove
+                    ? QuiescenceSearch.quiesce(state, alpha, beta, true, 0, ply)
+                    : -QuiescenceSearch.quiesce(state, -beta, -alpha, false, 0, ply);
         }
 
-        List<Move> moves = MoveGenerator.generateAllMoves(state);
-
-        // Verschiedene Move Ordering für PV vs Non-PV
-        if (isPVNode) {
-            orderMovesForPV(moves, state, depth, entry);
-        } else {
-            Minimax.orderMovesAdvanced(moves, state, depth, entry);
+        // Forward Pruning nur in Nicht-PV-Knoten, mit sicherem Wächter und fern von Gewinnscores
+        boolean guardInDanger = (strategy.pruning || strategy.extensions)
+                && Minimax.isGuardInDangerImproved(state, redToMove);
+        boolean enemyGuardAttacked = strategy.extensions && AttackMap.of(state).isGuardAttacked(!redToMove);
+        boolean canPrune = strategy.pruning && !isPVNode && !guardInDanger && excludedMove == null
+                && Math.abs(beta) < PRUNING_SCORE_LIMIT;
+        int staticEval = 0;
+        if (canPrune) {
+            staticEval = redToMove ? Minimax.evaluate(state, depth) : -Minimax.evaluate(state, depth);
         }
 
-        Move bestMove = null;
-        int originalAlpha = alpha;
-        boolean isFirstMove = true;
-
-        if (maximizingPlayer) {
-            int maxEval = Integer.MIN_VALUE;
-
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                Minimax.counter++;
-
-                int eval;
-
-                if (isFirstMove || isPVNode) {
-                    // Erste Züge UND PV-Knoten bekommen volle Suche
-                    eval = searchWithQuiescence(copy, depth - 1, alpha, beta, false, isPVNode);
-                    isFirstMove = false;
-                } else {
-                    // Weniger aggressive Null-Window für bessere Differenzierung
-                    int nullWindow = isPVNode ? alpha + 10 : alpha + 1;
-                    eval = searchWithQuiescence(copy, depth - 1, alpha, nullWindow, false, false);
-
-                    if (eval > alpha && eval < beta) {
-                        // Re-search mit vollem Fenster
-                        eval = searchWithQuiescence(copy, depth - 1, eval, beta, false, true);
-                    }
-                }
+        // Reverse Futility (statischer Null-Move): liegt die Stellung schon weit über beta,
+        // holt der Gegner das in den letzten Zügen nicht mehr auf
+        if (canPrune && depth <= FUTILITY_MAX_DEPTH && staticEval - config.reverseFutilityMargin(depth) >= beta) {
+            return staticEval - config.reverseFutilityMargin(depth);
+        }
 
-                if (eval > maxEval) {
-                    maxEval = eval;
-                    bestMove = move;
+        // Null-Move Pruning: darf der Gegner zweimal ziehen und wir liegen trotzdem über beta,
+        // ist der Knoten mit großer Wahrscheinlichkeit ein Cutoff
+        if (canPrune && allowNullMove && depth >= NULL_MOVE_MIN_DEPTH && staticEval >= beta && hasTowers(state)) {
+            int r = NULL_MOVE_BASE_R + depth / NULL_MOVE_DEPTH_DIVISOR;
+            GameState nullState = state.copy();
+            nullState.redToMove = !redToMove;
+            ctx.moveStack[ply] = null;
+            ctx.extensionUnits[ply + 1] = ctx.extensionUnits[ply];
+            ctx.extensionsUsed[ply + 1] = ctx.extensionsUsed[ply];
+            ctx.nodes++;
+
+            int nullScore = -negamax(ctx, nullState, depth - 1 - r, ply + 1, -beta, -beta + 1, false, false, strategy);
+            if (nullScore >= beta) {
+                if (!config.nullMoveVerification || depth < NULL_MOVE_VERIFY_DEPTH) {
+                    return beta;
                 }
-
-                alpha = Math.max(alpha, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
+                // Verifikation mit reduzierter Tiefe, ohne weiteren Null-Move
+                int verified = negamax(ctx, state, depth - r, ply, beta - 1, beta, false, false, strategy);
+                if (verified >= beta) {
+                    return beta;
                 }
             }
+        }
 
-            storeTTEntry(hash, maxEval, depth, originalAlpha, beta, bestMove);
-            return maxEval;
-
-        } else {
-            int minEval = Integer.MAX_VALUE;
+        List<Move> moves = MoveGenerator.generateAllMoves(state);
+        if (moves.isEmpty()) {
+            return -(Minimax.WIN_SCORE - ply); // Kein Zug mehr möglich = verloren
+        }
 
-            for (Move move : moves) {
-                GameState copy = state.copy();
-                copy.applyMove(move);
-                Minimax.counter++;
+        // IID: PV-Knoten ohne TT-Zug holen sich den ersten Zug aus einer flacheren Suche
+        if (strategy.pvs && isPVNode && depth >= IID_MIN_DEPTH && (entry == null || entry.bestMove == null)) {
+            negamax(ctx, state, depth - IID_REDUCTION, ply, alpha, beta, true, false, strategy);
+            entry = ctx.transpositionTable.get(hash);
+        }
 
-                int eval;
+        // Singular Extension: ist der TT-Zug deutlich besser als alle anderen Züge, wird er verlängert
+        boolean singular = strategy.extensions && excludedMove == null && depth >= SINGULAR_MIN_DEPTH
+                && isSingular(ctx, state, entry, depth, ply, strategy);
 
-                if (isFirstMove || isPVNode) {
-                    eval = searchWithQuiescence(copy, depth - 1, alpha, beta, true, isPVNode);
-                    isFirstMove = false;
-                } else {
-                    int nullWindow = isPVNode ? beta - 10 : beta - 1;
-                    eval = searchWithQuiescence(copy, depth - 1, nullWindow, beta, true, false);
+        MovePicker picker = new MovePicker(ctx, state, moves, ply, entry != null ? entry.bestMove : null);
 
-                    if (eval < beta && eval > alpha) {
-                        eval = searchWithQuiescence(copy, depth - 1, alpha, eval, true, true);
+        Move bestMove = null;
+        int bestScore = -INFINITY;
+        int originalAlpha = alpha;
+        boolean isFirstMove = true;
+        int moveIndex = 0;
+        Move[] quietsTried = new Move[moves.size()];
+        int quietCount = 0;
+
+        // LMR nur in ruhigen Stellungen: nicht wenn der eigene Wächter bedroht ist
+        boolean canReduce = strategy.pruning && depth >= LMR_MIN_DEPTH && !guardInDanger;
+
+        // Futility: ruhige Züge können eine Stellung weit unter alpha nicht mehr retten
+        boolean futile = canPrune && depth <= FUTILITY_MAX_DEPTH
+                && Math.abs(alpha) < PRUNING_SCORE_LIMIT
+                && staticEval + config.futilityMargin(depth) <= alpha;
+
+        Move move;
+        while ((move = picker.next()) != null) {
+            if (move.equals(excludedMove)) {
+                continue;
+            }
+            moveIndex++;
+            boolean quiet = !Minimax.isCapture(move, state);
+            if (futile && quiet && bestMove != null && !Minimax.isGuardMove(move, state)) {
+                continue;
+            }
+            GameState copy = state.copy();
+            copy.applyMove(move);
+            ctx.moveStack[ply] = move;
+            ctx.nodes++;
+
+            int extension = 0;
+            if (strategy.extensions) {
+                int units = extensionUnits(state, copy, move, guardInDanger, enemyGuardAttacked);
+                if (singular && move.equals(entry.bestMove)) {
+                    units += ONE_PLY;
+                }
+                extension = extendLine(ctx, ply, units);
+            } else {
+                ctx.extensionUnits[ply + 1] = 0;
+                ctx.extensionsUsed[ply + 1] = 0;
+            }
+            int newDepth = depth - 1 + extension;
+
+            int score;
+            if (isFirstMove || !strategy.pvs) {
+                score = -negamax(ctx, copy, newDepth, ply + 1, -beta, -alpha, isPVNode, true, strategy);
+            } else {
+                int reduction = 0;
+                if (canReduce && extension == 0 && moveIndex >= LMR_MIN_MOVE_INDEX
+                        && isReducible(ctx, move, state, ply)) {
+                    reduction = config.lmrReduction(depth, moveIndex);
+                    if (isPVNode && reduction > 0) {
+                        reduction--;
                     }
+                    reduction = Math.min(reduction, depth - 2); // mindestens Tiefe 1 übrig lassen
                 }
 
-                if (eval < minEval) {
-                    minEval = eval;
-                    bestMove = move;
+                // Null-Window-Suche (ggf. reduziert), volle Re-Search nur wenn der Zug das Fenster trifft
+                score = -negamax(ctx, copy, newDepth - reduction, ply + 1, -alpha - 1, -alpha, false, true, strategy);
+                if (reduction > 0 && score > alpha) {
+                    score = -negamax(ctx, copy, newDepth, ply + 1, -alpha - 1, -alpha, false, true, strategy);
                 }
+                if (score > alpha && score < beta) {
+                    score = -negamax(ctx, copy, newDepth, ply + 1, -beta, -alpha, true, true, strategy);
+                }
+            }
+            isFirstMove = false;
 
-                beta = Math.min(beta, eval);
-                if (beta <= alpha) {
-                    if (!isCapture(move, state)) {
-                        storeKillerMove(move, depth);
-                    }
-                    break;
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                Minimax.storePVMove(move, ply);
+            }
+
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                ctx.betaCutoffs++;
+                if (moveIndex == 1) {
+                    ctx.firstMoveCutoffs++;
+                }
+                if (quiet) {
+                    Minimax.storeKillerMove(move, ply);
+                    Minimax.updateHistory(ctx, redToMove, ply, move, quietsTried, quietCount, depth);
                 }
+                break;
             }
+            if (quiet) {
+                quietsTried[quietCount++] = move;
+            }
+        }
 
-            storeTTEntry(hash, minEval, depth, originalAlpha, beta, bestMove);
-            return minEval;
+        if (excludedMove == null) {
+            storeTTEntry(ctx, hash, bestScore, depth, ply, originalAlpha, beta, bestMove);
         }
+        return bestScore;
     }
 
+// === HELPER METHODS ===
+
     /**
-     * Spezielle Move Ordering für PV-Knoten
+     * Exclusion-Suche: bleiben alle anderen Züge mit halber Tiefe unter ttScore - Marge,
+     * ist der TT-Zug singulär. Voraussetzung ist eine untere Schranke aus ausreichender Tiefe.
      */
-    private static void orderMovesForPV(List<Move> moves, GameState state, int depth, TTEntry entry) {
-        // TT Move hat weiterhin höchste Priorität
-        if (entry != null && entry.bestMove != null) {
-            for (int i = 0; i < moves.size(); i++) {
-                if (moves.get(i).equals(entry.bestMove)) {
-                    Move ttMove = moves.remove(i);
-                    moves.add(0, ttMove);
-                    break;
-                }
-            }
+    private static boolean isSingular(SearchContext ctx, GameState state, TTEntry entry, int depth, int ply,
+                                      Minimax.SearchStrategy strategy) {
+        if (entry == null || entry.bestMove == null || entry.flag == TTEntry.UPPER_BOUND
+                || entry.depth < depth - SINGULAR_TT_DEPTH_MARGIN) {
+            return false;
+        }
+        int ttScore = scoreFromTT(entry.score, ply);
+        if (Minimax.isWinScore(ttScore)) {
+            return false;
         }
 
-        // In PV-Knoten mehr Züge mit hoher Priorität bewerten
-        if (moves.size() > 1) {
-            int startIndex = (entry != null && entry.bestMove != null) ? 1 : 0;
-            List<Move> restMoves = moves.subList(startIndex, moves.size());
-
-            restMoves.sort((a, b) -> {
-                int scoreA = scoreMoveForPV(state, a, depth);
-                int scoreB = scoreMoveForPV(state, b, depth);
-                return Integer.compare(scoreB, scoreA);
-            });
+        int singularBeta = ttScore - depth * SINGULAR_MARGIN_PER_PLY;
+        ctx.excludedMove[ply] = entry.bestMove;
+        try {
+            int score = negamax(ctx, state, (depth - 1) / 2, ply, singularBeta - 1, singularBeta, false, false, strategy);
+            return score < singularBeta;
+        } finally {
+            ctx.excludedMove[ply] = null;
         }
     }
 
     /**
-     * Erweiterte Move-Bewertung für PV-Knoten
+     * Verlängerung eines Zuges in Einheiten von ONE_PLY; bei mehreren Gründen zählt der größte.
+     * Angriffe kommen aus der AttackMap, berücksichtigen also Blocker wie Bewertung und Quiescence.
+     *
+     * @param enemyGuardAttacked gegnerischer Wächter war schon vor dem Zug angegriffen
      */
-    private static int scoreMoveForPV(GameState state, Move move, int depth) {
-        int score = Minimax.scoreMove(state, move);
-
-        // In PV-Knoten auch ruhige Züge höher bewerten
-        if (!isCapture(move, state)) {
-            // Bonus für verschiedene Zielfelder (Anti-Repetition)
-            score += move.to * 2; // Einfache Variation basierend auf Zielfeld
-
-            // Bonus für verschiedene Anzahl bewegter Stücke
-            score += move.amountMoved * 5;
-
-            // Bonus für zentrale Züge
-            int targetFile = GameState.file(move.to);
-            int targetRank = GameState.rank(move.to);
-            int centrality = Math.abs(targetFile - 3) + Math.abs(targetRank - 3);
-            score += (6 - centrality) * 3;
-
-            // Anti-Repetition: Bonus für Züge zu neuen Feldern
-            long hash = state.hash();
-            score += (int)(hash % 20) - 10; // Pseudo-random variation basierend auf Position
+    private static int extensionUnits(GameState state, GameState after, Move move,
+                                      boolean guardInDanger, boolean enemyGuardAttacked) {
+        boolean red = state.redToMove;
+        AttackMap attacksAfter = AttackMap.of(after);
+        int units = 0;
+        if (Minimax.isGuardMove(move, state)) {
+            // Nur eine echte Flucht: der Wächter steht danach nicht mehr im Angriff
+            if (guardInDanger && !attacksAfter.isGuardAttacked(red)) {
+                units = GUARD_ESCAPE_EXTENSION;
+            }
+            int enemyCastle = red ? Minimax.BLUE_CASTLE_INDEX : Minimax.RED_CASTLE_INDEX;
+            if (Minimax.manhattanDistance(move.to, enemyCastle) <= CASTLE_APPROACH_DISTANCE) {
+                units = Math.max(units, CASTLE_APPROACH_EXTENSION);
+            }
         }
-
-        return score;
+        // Neuer Angriff auf den gegnerischen Wächter, auch als Abzugsangriff
+        if (units < GUARD_ATTACK_EXTENSION && !enemyGuardAttacked && attacksAfter.isGuardAttacked(!red)) {
+            units = GUARD_ATTACK_EXTENSION;
+        }
+        return units;
     }
 
-// === HELPER METHODS ===
-
     /**
-     * Store entry in transposition table
+     * Schreibt den Verlängerungszustand für ply + 1 fort.
+     *
+     * @return volle Züge, um die der Zug verlängert wird (0 oder 1)
      */
-    private static void storeTTEntry(long hash, int score, int depth, int originalAlpha, int beta, Move bestMove) {
-        int flag;
-        if (score <= originalAlpha) {
-            flag = TTEntry.UPPER_BOUND;
-        } else if (score >= beta) {
-            flag = TTEntry.LOWER_BOUND;
-        } else {
-            flag = TTEntry.EXACT;
+    private static int extendLine(SearchContext ctx, int ply, int units) {
+        int carried = ctx.extensionUnits[ply] + units;
+        int used = ctx.extensionsUsed[ply];
+        int extension = 0;
+
+        if (carried >= ONE_PLY && used < MAX_EXTENSIONS_PER_LINE) {
+            extension = 1;
+            carried -= ONE_PLY;
+            used++;
         }
 
-        TTEntry entry = new TTEntry(score, depth, flag, bestMove);
-        Minimax.storeTranspositionEntry(hash, entry);
+        ctx.extensionUnits[ply + 1] = Math.min(carried, ONE_PLY);
+        ctx.extensionsUsed[ply + 1] = used;
+        return extension;
     }
 
     /**
-     * Check if move is a capture
+     * Kein Null-Move wenn nur noch der Wächter übrig ist (Zugzwang)
      */
-    private static boolean isCapture(Move move, GameState state) {
-        if (state == null) return false;
-
-        long toBit = GameState.bit(move.to);
-        boolean isRed = state.redToMove;
-
-        boolean capturesGuard = isRed ?
-                (state.blueGuard & toBit) != 0 :
-                (state.redGuard & toBit) != 0;
-
-        boolean capturesTower = isRed ?
-                (state.blueTowers & toBit) != 0 :
-                (state.redTowers & toBit) != 0;
-
-        return capturesGuard || capturesTower;
+    private static boolean hasTowers(GameState state) {
+        return (state.redToMove ? state.redTowers : state.blueTowers) != 0;
     }
 
     /**
-     * Store killer move helper
+     * Schlagzüge, Wächterzüge (damit auch jede Annäherung an das gegnerische Schloss)
+     * und Killer werden nie reduziert
      */
-    private static void storeKillerMove(Move move, int depth) {
-        try {
-            Minimax.storeKillerMove(move, depth);
-        } catch (Exception e) {
-            // Fallback falls Minimax.storeKillerMove nicht verfügbar
-            System.err.println("Could not store killer move: " + e.getMessage());
+    private static boolean isReducible(SearchContext ctx, Move move, GameState state, int ply) {
+        if (Minimax.isCapture(move, state) || Minimax.isGuardMove(move, state)) {
+            return false;
+        }
+        if (ply < ctx.killerMoves.length) {
+            Move[] killers = ctx.killerMoves[ply];
+            if (move.equals(killers[0]) || move.equals(killers[1])) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
-     * Set timeout checker from TimedMinimax
+     * Gewinnscores werden in der TT relativ zur Stellung gespeichert (Abstand ab hier statt ab Wurzel),
+     * damit sie in anderen Tiefen des Baums wiederverwendet werden können
      */
-    public static void setTimeoutChecker(BooleanSupplier checker) {
-        timeoutChecker = checker;
+    static int scoreToTT(int score, int ply) {
+        if (score >= Minimax.WIN_THRESHOLD) return score + ply;
+        if (score <= -Minimax.WIN_THRESHOLD) return score - ply;
+        return score;
     }
 
+    static int scoreFromTT(int score, int ply) {
+        if (score >= Minimax.WIN_THRESHOLD) return score - ply;
+        if (score <= -Minimax.WIN_THRESHOLD) return score + ply;
+        return score;
+    }
 
+    /**
+     * Store entry in transposition table (Score und Bound aus Sicht der Seite am Zug)
+     */
+    static void storeTTEntry(SearchContext ctx, long hash, int score, int depth, int ply,
+                             int originalAlpha, int beta, Move bestMove) {
+        int flag;
+        if (score <= originalAlpha) {
+            flag = TTEntry.UPPER_BOUND;
+        } else if (score >= beta) {
+            flag = TTEntry.LOWER_BOUND;
+        } else {
+            flag = TTEntry.EXACT;
+        }
 
-}
\ No newline at end of file
+        ctx.transpositionTable.put(hash, new TTEntry(scoreToTT(score, ply), depth, flag, bestMove));
+    }
+}
@@ -5,7 +5,6 @@ import GaT.Objects.Move;
 import GaT.Objects.TTEntry;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -14,52 +13,66 @@ import java.util.List;
  * Fixes:
  * - Corrected parentheses in bitwise operations
  * - Fixed guard movement detection
- * - Proper SEE attacker value calculation
+ * - Swap-list SEE for capture pruning and ordering
  * - Added missing helper methods
  */
 public class QuiescenceSearch {
 
-    private static final HashMap<Long, TTEntry> qTable = new HashMap<>();
     private static final int MAX_Q_DEPTH = 16; // INCREASED from 8
 
-    // Adaptive depth based on time pressure
-    private static long remainingTimeMs = 180000; // Updated from outside
-
-    // Statistics for analysis
-    public static long qNodes = 0;
-    public static long qCutoffs = 0;
-    public static long standPatCutoffs = 0;
-    public static long qTTHits = 0;
+    // === DELTA PRUNING ===
+    // Room for positional changes on top of the captured material
+    private static final int DELTA_MARGIN = 2 * Minimax.MATERIAL_VALUE;
 
     /**
-     * Reset statistics
+     * Reset statistics (kept per search context)
      */
     public static void resetQuiescenceStats() {
-        qNodes = 0;
-        qCutoffs = 0;
-        standPatCutoffs = 0;
-        qTTHits = 0;
+        SearchContext ctx = SearchContext.current();
+        ctx.qNodes = 0;
+        ctx.qCutoffs = 0;
+        ctx.standPatCutoffs = 0;
+        ctx.qTTHits = 0;
+        ctx.deltaPrunes = 0;
     }
 
     /**
      * Set remaining time for adaptive depth
      */
     public static void setRemainingTime(long timeMs) {
-        remainingTimeMs = timeMs;
+        SearchContext.current().qRemainingTimeMs = timeMs;
     }
 
     /**
      * Public interface for quiescence search - called by Minimax
      */
     public static int quiesce(GameState state, int alpha, int beta, boolean maximizingPlayer, int qDepth) {
-        return quiesceInternal(state, alpha, beta, maximizingPlayer, qDepth);
+        return quiesceInternal(state, alpha, beta, maximizingPlayer, qDepth, 0);
+    }
+
+    /**
+     * @param rootPly ply of the main search node that starts the quiescence search (for win distances)
+     */
+    static int quiesce(GameState state, int alpha, int beta, boolean maximizingPlayer, int qDepth, int rootPly) {
+        return quiesceInternal(state, alpha, beta, maximizingPlayer, qDepth, rootPly);
     }
 
     /**
      * OPTIMIZED Quiescence search
      */
-    private static int quiesceInternal(GameState state, int alpha, int beta, boolean maximizingPlayer, int qDepth) {
-        qNodes++;
+    private static int quiesceInternal(GameState state, int alpha, int beta, boolean maximizingPlayer,
+                                       int qDepth, int rootPly) {
+        SearchContext ctx = SearchContext.current();
+        ctx.checkAbort();
+        ctx.qNodes++;
+        long remainingTimeMs = ctx.qRemainingTimeMs;
+        int ply = rootPly + qDepth;
+
+        // Game decided by the previous move: the side to move has lost
+        if (Minimax.isGameOver(state)) {
+            int loss = Minimax.WIN_SCORE - ply;
+            return state.redToMove ? -loss : loss;
+        }
 
         // Adaptive depth limit based on time pressure
         int maxDepth = remainingTimeMs > 30000 ? MAX_Q_DEPTH :
@@ -69,32 +82,50 @@ public class QuiescenceSearch {
             return Minimax.evaluate(state, -qDepth);
         }
 
+        // Guard threats and evasions only in the first plies (SearchConfig), deeper plies search captures only
+        SearchConfig config = ctx.getConfig();
+        boolean threatPly = qDepth < config.guardThreatPlies;
+
         // Check quiescence transposition table
         long hash = state.hash();
-        TTEntry qEntry = qTable.get(hash);
-        if (qEntry != null) {
-            qTTHits++;
+        TTEntry qEntry = config.useQuiescenceTable ? ctx.qTable.get(hash) : null;
+        if (qEntry != null && coversThreatPlies(qEntry, qDepth, threatPly)) {
+            ctx.qTTHits++;
+            int qScore = PVSSearch.scoreFromTT(qEntry.score, ply);
             if (qEntry.flag == TTEntry.EXACT) {
-                return qEntry.score;
-            } else if (qEntry.flag == TTEntry.LOWER_BOUND && qEntry.score >= beta) {
-                return qEntry.score;
-            } else if (qEntry.flag == TTEntry.UPPER_BOUND && qEntry.score <= alpha) {
-                return qEntry.score;
+                return qScore;
+            } else if (qEntry.flag == TTEntry.LOWER_BOUND && qScore >= beta) {
+                return qScore;
+            } else if (qEntry.flag == TTEntry.UPPER_BOUND && qScore <= alpha) {
+                return qScore;
             }
         }
 
         // Stand pat evaluation
         int standPat = Minimax.evaluate(state, -qDepth);
 
+        boolean guardInDanger = Minimax.isGuardInDangerImproved(state, state.redToMove);
+        boolean standPatAllowed = !(threatPly && guardInDanger);
+        boolean deltaPruning = !guardInDanger;
+
         if (maximizingPlayer) {
-            if (standPat >= beta) {
-                standPatCutoffs++;
-                return beta; // Beta cutoff
+            if (standPatAllowed) {
+                if (standPat >= beta) {
+                    ctx.standPatCutoffs++;
+                    return beta; // Beta cutoff
+                }
+                alpha = Math.max(alpha, standPat);
+            }
+            int alphaBeforeMoves = alpha;
+
+            // Delta pruning: even the best capture cannot lift the score to alpha
+            if (deltaPruning && standPat + maxTacticalGain(state) + DELTA_MARGIN <= alpha) {
+                ctx.deltaPrunes++;
+                return alpha;
             }
-            alpha = Math.max(alpha, standPat);
 
             // Generate only CRITICAL tactical moves
-            List<Move> tacticalMoves = generateCriticalTacticalMoves(state);
+            List<Move> tacticalMoves = generateCriticalTacticalMoves(state, threatPly, guardInDanger);
 
             if (tacticalMoves.isEmpty()) {
                 return standPat; // Quiet position
@@ -103,19 +134,26 @@ public class QuiescenceSearch {
             // Order tactical moves by potential gain
             orderTacticalMoves(tacticalMoves, state);
 
-            int maxEval = standPat;
+            int maxEval = standPatAllowed ? standPat : -PVSSearch.INFINITY;
             Move bestMove = null;
 
             for (Move move : tacticalMoves) {
-                // IMPROVED SEE pruning - skip obviously bad captures
-                if (isCapture(move, state) && fastSEE(move, state) < -50) {
-                    continue; // Skip clearly losing captures
+                // SEE pruning - skip captures that lose material in the exchange
+                if (isCapture(move, state)) {
+                    if (deltaPruning && standPat + StaticExchange.victimValue(state, move.to, state.redToMove)
+                            + DELTA_MARGIN <= alpha) {
+                        ctx.deltaPrunes++;
+                        continue; // Capture cannot reach alpha
+                    }
+                    if (!StaticExchange.seeAtLeast(state, move, 0)) {
+                        continue;
+                    }
                 }
 
                 GameState copy = state.copy();
                 copy.applyMove(move);
 
-                int eval = quiesceInternal(copy, alpha, beta, false, qDepth + 1);
+                int eval = quiesceInternal(copy, alpha, beta, false, qDepth + 1, rootPly);
 
                 if (eval > maxEval) {
                     maxEval = eval;
@@ -124,26 +162,38 @@ public class QuiescenceSearch {
 
                 alpha = Math.max(alpha, eval);
                 if (beta <= alpha) {
-                    qCutoffs++;
+                    ctx.qCutoffs++;
                     break; // Beta cutoff
                 }
             }
 
+            if (bestMove == null && !standPatAllowed) {
+                return standPat; // Every evasion was pruned
+            }
+
             // Store in quiescence table
-            int flag = maxEval <= standPat ? TTEntry.UPPER_BOUND :
+            int flag = maxEval <= alphaBeforeMoves ? TTEntry.UPPER_BOUND :
                     maxEval >= beta ? TTEntry.LOWER_BOUND : TTEntry.EXACT;
-            qTable.put(hash, new TTEntry(maxEval, -qDepth, flag, bestMove));
+            storeQEntry(ctx, hash, new TTEntry(PVSSearch.scoreToTT(maxEval, ply), -qDepth, flag, bestMove));
 
             return maxEval;
 
         } else {
-            if (standPat <= alpha) {
-                standPatCutoffs++;
-                return alpha; // Alpha cutoff
+            if (standPatAllowed) {
+                if (standPat <= alpha) {
+                    ctx.standPatCutoffs++;
+                    return alpha; // Alpha cutoff
+                }
+                beta = Math.min(beta, standPat);
             }
-            beta = Math.min(beta, standPat);
+            int betaBeforeMoves = beta;
 
-            List<Move> tacticalMoves = generateCriticalTacticalMoves(state);
+            if (deltaPruning && standPat - maxTacticalGain(state) - DELTA_MARGIN >= beta) {
+                ctx.deltaPrunes++;
+                return beta;
+            }
+
+            List<Move> tacticalMoves = generateCriticalTacticalMoves(state, threatPly, guardInDanger);
 
             if (tacticalMoves.isEmpty()) {
                 return standPat; // Quiet position
@@ -151,18 +201,25 @@ public class QuiescenceSearch {
 
             orderTacticalMoves(tacticalMoves, state);
 
-            int minEval = standPat;
+            int minEval = standPatAllowed ? standPat : PVSSearch.INFINITY;
             Move bestMove = null;
 
             for (Move move : tacticalMoves) {
-                if (isCapture(move, state) && fastSEE(move, state) < -50) {
-                    continue;
+                if (isCapture(move, state)) {
+                    if (deltaPruning && standPat - StaticExchange.victimValue(state, move.to, state.redToMove)
+                            - DELTA_MARGIN >= beta) {
+                        ctx.deltaPrunes++;
+                        continue;
+                    }
+                    if (!StaticExchange.seeAtLeast(state, move, 0)) {
+                        continue;
+                    }
                 }
 
                 GameState copy = state.copy();
                 copy.applyMove(move);
 
-                int eval = quiesceInternal(copy, alpha, beta, true, qDepth + 1);
+                int eval = quiesceInternal(copy, alpha, beta, true, qDepth + 1, rootPly);
 
                 if (eval < minEval) {
                     minEval = eval;
@@ -171,33 +228,69 @@ public class QuiescenceSearch {
 
                 beta = Math.min(beta, eval);
                 if (beta <= alpha) {
-                    qCutoffs++;
+                    ctx.qCutoffs++;
                     break; // Alpha cutoff
                 }
             }
 
+            if (bestMove == null && !standPatAllowed) {
+                return standPat;
+            }
+
             // Store in quiescence table
-            int flag = minEval <= alpha ? TTEntry.UPPER_BOUND :
-                    minEval >= beta ? TTEntry.LOWER_BOUND : TTEntry.EXACT;
-            qTable.put(hash, new TTEntry(minEval, -qDepth, flag, bestMove));
+            int flag = minEval >= betaBeforeMoves ? TTEntry.LOWER_BOUND :
+                    minEval <= alpha ? TTEntry.UPPER_BOUND : TTEntry.EXACT;
+            storeQEntry(ctx, hash, new TTEntry(PVSSearch.scoreToTT(minEval, ply), -qDepth, flag, bestMove));
 
             return minEval;
         }
     }
 
+    /**
+     * Upper bound of the material a single tactical move can win: the tallest enemy
+     * tower, or the guard-capture score if the enemy guard is attacked or the own
+     * guard stands next to the enemy castle
+     */
+    private static int maxTacticalGain(GameState state) {
+        boolean isRed = state.redToMove;
+        long ownGuard = isRed ? state.redGuard : state.blueGuard;
+        int enemyCastle = isRed ? Minimax.BLUE_CASTLE_INDEX : Minimax.RED_CASTLE_INDEX;
+
+        if (ownGuard != 0 && Minimax.manhattanDistance(Long.numberOfTrailingZeros(ownGuard), enemyCastle) <= 1) {
+            return StaticExchange.GUARD_VALUE;
+        }
+        if (Minimax.isGuardInDangerImproved(state, !isRed)) {
+            return StaticExchange.GUARD_VALUE;
+        }
+
+        long enemyTowers = isRed ? state.blueTowers : state.redTowers;
+        int[] enemyHeights = isRed ? state.blueStackHeights : state.redStackHeights;
+        int maxHeight = 0;
+        while (enemyTowers != 0) {
+            int square = Long.numberOfTrailingZeros(enemyTowers);
+            enemyTowers &= enemyTowers - 1;
+            maxHeight = Math.max(maxHeight, enemyHeights[square]);
+        }
+        return maxHeight * Minimax.MATERIAL_VALUE;
+    }
+
     /**
      * OPTIMIZED: Generate only CRITICAL tactical moves (more selective)
      */
     public static List<Move> generateTacticalMoves(GameState state) {
-        return generateCriticalTacticalMoves(state);
+        return generateCriticalTacticalMoves(state, true, Minimax.isGuardInDangerImproved(state, state.redToMove));
     }
 
-    private static List<Move> generateCriticalTacticalMoves(GameState state) {
+    /**
+     * @param includeThreats also guard threats and, with the guard in danger, guard evasions
+     */
+    private static List<Move> generateCriticalTacticalMoves(GameState state, boolean includeThreats,
+                                                            boolean guardInDanger) {
         List<Move> allMoves = MoveGenerator.generateAllMoves(state);
         List<Move> tacticalMoves = new ArrayList<>();
 
         for (Move move : allMoves) {
-            if (isCriticalTacticalMove(move, state)) {
+            if (isCriticalTacticalMove(move, state, includeThreats, guardInDanger)) {
                 tacticalMoves.add(move);
             }
         }
@@ -208,7 +301,8 @@ public class QuiescenceSearch {
     /**
      * OPTIMIZED: More selective tactical move detection
      */
-    private static boolean isCriticalTacticalMove(Move move, GameState state) {
+    private static boolean isCriticalTacticalMove(Move move, GameState state, boolean includeThreats,
+                                                  boolean guardInDanger) {
         // 1. All captures are tactical
         if (isCapture(move, state)) {
             return true;
@@ -219,17 +313,18 @@ public class QuiescenceSearch {
             return true;
         }
 
+        // Deeper plies: captures and winning moves only
+        if (!includeThreats) {
+            return false;
+        }
+
         // 3. FAST check detection (much more efficient than before)
         if (fastGivesCheck(move, state)) {
             return true;
         }
 
         // 4. Guard escape moves when in danger
-        if (isGuardEscapeMove(move, state)) {
-            return true;
-        }
-
-        return false;
+        return guardInDanger && Minimax.isGuardMove(move, state);
     }
 
     /**
@@ -301,42 +396,44 @@ public class QuiescenceSearch {
     }
 
     /**
-     * IMPROVED tactical move ordering
+     * Tactical move ordering, every move is scored once
      */
     private static void orderTacticalMoves(List<Move> moves, GameState state) {
-        moves.sort((a, b) -> {
-            int scoreA = scoreTacticalMove(a, state);
-            int scoreB = scoreTacticalMove(b, state);
-            return Integer.compare(scoreB, scoreA);
-        });
+        int size = moves.size();
+        int[] scores = new int[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = scoreTacticalMove(moves.get(i), state);
+        }
+
+        // Insertion sort, tactical move lists are short
+        for (int i = 1; i < size; i++) {
+            Move move = moves.get(i);
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
     }
 
     /**
-     * FIXED: Tactical move scoring with proper parentheses
+     * Tactical move scoring: captures by their exchange value
      */
     private static int scoreTacticalMove(Move move, GameState state) {
         int score = 0;
-        boolean isRed = state.redToMove;
 
         // Winning move gets highest priority
         if (isWinningGuardMove(move, state)) {
             score += 10000;
         }
 
-        // Capture scoring with MVV-LVA
+        // Captures by static exchange, winning exchanges first
         if (isCapture(move, state)) {
-            long toBit = GameState.bit(move.to);
-
-            // FIXED: Proper parentheses for guard capture check
-            if (((isRed ? state.blueGuard : state.redGuard) & toBit) != 0) {
-                score += 3000; // Guard capture
-            } else {
-                int victimHeight = isRed ? state.blueStackHeights[move.to] : state.redStackHeights[move.to];
-                score += victimHeight * 100; // Tower capture by height
-            }
-
-            // Attacker value (subtract for MVV-LVA)
-            score -= getAttackerValue(move, state);
+            score += StaticExchange.see(state, move);
         }
 
         // Check bonus
@@ -352,50 +449,6 @@ public class QuiescenceSearch {
         return score;
     }
 
-    /**
-     * FIXED: Static Exchange Evaluation with proper attacker calculation
-     */
-    private static int fastSEE(Move move, GameState state) {
-        if (!isCapture(move, state)) {
-            return 0;
-        }
-
-        boolean isRed = state.redToMove;
-        long toBit = GameState.bit(move.to);
-
-        // Calculate victim value
-        int victimValue = 0;
-        if (((isRed ? state.blueGuard : state.redGuard) & toBit) != 0) {
-            victimValue = 3000; // Guard value
-        } else {
-            int height = isRed ? state.blueStackHeights[move.to] : state.redStackHeights[move.to];
-            victimValue = height * 100; // Tower value
-        }
-
-        // FIXED: Calculate proper attacker value
-        int attackerValue = getAttackerValue(move, state);
-
-        // Simple SEE: victim value minus attacker value
-        return victimValue - attackerValue;
-    }
-
-    /**
-     * NEW: Calculate the value of the piece making the attack
-     */
-    private static int getAttackerValue(Move move, GameState state) {
-        boolean isRed = state.redToMove;
-        long fromBit = GameState.bit(move.from);
-
-        // Check if attacker is a guard
-        if (((isRed ? state.redGuard : state.blueGuard) & fromBit) != 0) {
-            return 50; // Guard has low material value but high strategic value
-        }
-
-        // Attacker is a tower - value based on height
-        int height = isRed ? state.redStackHeights[move.from] : state.blueStackHeights[move.from];
-        return height * 25; // Towers worth 25 per height level for SEE purposes
-    }
-
     // === HELPER METHODS ===
 
     private static boolean isCapture(Move move, GameState state) {
@@ -414,11 +467,25 @@ public class QuiescenceSearch {
     }
 
     /**
-     * Clear quiescence table periodically to prevent memory issues
+     * Entries store -qDepth as depth. A capture-only ply can use any entry; a threat
+     * ply only one searched at the same or a shallower q-ply, which had at least as
+     * many threat plies left.
      */
-    public static void clearQuiescenceTable() {
-        if (qTable.size() > 100000) { // Clear when table gets too large
-            qTable.clear();
+    private static boolean coversThreatPlies(TTEntry entry, int qDepth, boolean threatPly) {
+        return !threatPly || -entry.depth <= qDepth;
+    }
+
+    private static void storeQEntry(SearchContext ctx, long hash, TTEntry entry) {
+        if (ctx.getConfig().useQuiescenceTable) {
+            ctx.qTable.put(hash, entry);
         }
     }
+
+    /**
+     * Empties the quiescence table. Its size is fixed, so this is only needed to
+     * forget earlier games, not to save memory.
+     */
+    public static void clearQuiescenceTable() {
+        SearchContext.current().qTable.clear();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package GaT;
+
+import GaT.Objects.TTEntry;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table of the quiescence search.
+ *
+ * Entries live in buckets of two slots indexed by the low bits of the hash, so
+ * the memory use is fixed when the context is created. On a collision the slot
+ * of an older search generation is replaced first, then the entry from the
+ * deeper quiescence ply, which stands for the smaller subtree.
+ */
+final class QuiescenceTable {
+
+    static final int DEFAULT_BITS = 16;          // 65536 slots
+    private static final int BUCKET_SIZE = 2;
+
+    private final long[] keys;
+    private final TTEntry[] entries;
+    private final byte[] generations;
+    private final int bucketMask;
+    private byte generation = 0;
+
+    QuiescenceTable() {
+        this(DEFAULT_BITS);
+    }
+
+    QuiescenceTable(int bits) {
+        int slots = 1 << bits;
+        keys = new long[slots];
+        entries = new TTEntry[slots];
+        generations = new byte[slots];
+        bucketMask = (slots / BUCKET_SIZE) - 1;
+    }
+
+    /**
+     * @return stored entry for hash, or null
+     */
+    TTEntry get(long hash) {
+        int bucket = bucketStart(hash);
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            if (keys[i] == hash && entries[i] != null) {
+                return entries[i];
+            }
+        }
+        return null;
+    }
+
+    void put(long hash, TTEntry entry) {
+        int bucket = bucketStart(hash);
+        int victim = bucket;
+
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            if (entries[i] == null || keys[i] == hash) {
+                victim = i;
+                break;
+            }
+            if (isBetterVictim(i, victim)) {
+                victim = i;
+            }
+        }
+
+        keys[victim] = hash;
+        entries[victim] = entry;
+        generations[victim] = generation;
+    }
+
+    /**
+     * Slot a is replaced before slot b: older generation first, then the deeper q-ply
+     * (stored depth is -qDepth)
+     */
+    private boolean isBetterVictim(int a, int b) {
+        boolean aOld = generations[a] != generation;
+        boolean bOld = generations[b] != generation;
+        if (aOld != bOld) return aOld;
+        return entries[a].depth < entries[b].depth;
+    }
+
+    /**
+     * Starts a new search generation; entries of earlier searches become replaceable
+     */
+    void newSearch() {
+        generation++;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, null);
+        Arrays.fill(generations, (byte) 0);
+        generation = 0;
+    }
+
+    private int bucketStart(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+}
@@ -0,0 +1,143 @@
+package GaT;
+
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+import GaT.Objects.TTEntry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Root moves of one search, kept across the iterations of iterative deepening.
+ *
+ * Every root move remembers the score, subtree size and principal variation of
+ * the last iteration that searched it. After each iteration the list is
+ * reordered: best move first, then by score and, for equal scores (typically
+ * moves that all failed low against the best one), by subtree size.
+ */
+public class RootMoveList {
+
+    public static class RootMove {
+        public final Move move;
+        public int score;
+        public long nodes;
+        public boolean searched;
+        public List<Move> pv = new ArrayList<>();
+
+        RootMove(Move move) {
+            this.move = move;
+        }
+
+        @Override
+        public String toString() {
+            return move + " (Score: " + score + ", Nodes: " + nodes + ")";
+        }
+    }
+
+    private final List<RootMove> moves = new ArrayList<>();
+    private final boolean redToMove;
+
+    /**
+     * Generates the root moves, first ordered by the heuristics of ply 0
+     */
+    public RootMoveList(GameState state) {
+        this.redToMove = state.redToMove;
+
+        List<Move> generated = MoveGenerator.generateAllMoves(state);
+        Minimax.orderMovesAdvanced(generated, state, 0, Minimax.getTranspositionEntry(state.hash()));
+        for (Move move : generated) {
+            moves.add(new RootMove(move));
+        }
+    }
+
+    public List<RootMove> getMoves() {
+        return moves;
+    }
+
+    public boolean isEmpty() {
+        return moves.isEmpty();
+    }
+
+    /**
+     * @return best move of the last finished iteration, or the first move before any iteration
+     */
+    public RootMove getBest() {
+        return moves.isEmpty() ? null : moves.get(0);
+    }
+
+    /**
+     * Marks every move as not yet searched
+     */
+    void startIteration() {
+        for (RootMove rootMove : moves) {
+            rootMove.searched = false;
+        }
+    }
+
+    /**
+     * Reorders the list for the next iteration
+     */
+    void finishIteration(RootMove best) {
+        moves.sort((a, b) -> {
+            if (a == b) return 0;
+            if (a == best) return -1;
+            if (b == best) return 1;
+
+            int byScore = Long.compare(sortScore(b), sortScore(a));
+            if (byScore != 0) return byScore;
+            return Long.compare(b.nodes, a.nodes);
+        });
+    }
+
+    /**
+     * Score from the mover's point of view; moves skipped after a root cutoff go last
+     */
+    private long sortScore(RootMove rootMove) {
+        if (!rootMove.searched) return Long.MIN_VALUE;
+        return redToMove ? rootMove.score : -(long) rootMove.score;
+    }
+
+    /**
+     * Follows the best moves stored in the transposition table to rebuild the
+     * principal variation below a root move. Every step is checked for legality
+     * and repetitions stop the walk, so hash collisions cannot produce garbage.
+     */
+    static List<Move> extractPV(Move rootMove, GameState afterRootMove, int maxLength) {
+        List<Move> pv = new ArrayList<>();
+        pv.add(rootMove);
+
+        GameState position = afterRootMove.copy();
+        Set<Long> visited = new HashSet<>();
+
+        for (int i = 0; i < maxLength && !Minimax.isGameOver(position); i++) {
+            long hash = position.hash();
+            if (!visited.add(hash)) break;
+
+            TTEntry entry = Minimax.getTranspositionEntry(hash);
+            if (entry == null || entry.bestMove == null) break;
+            if (!MoveGenerator.generateAllMoves(position).contains(entry.bestMove)) break;
+
+            position.applyMove(entry.bestMove);
+            pv.add(entry.bestMove);
+        }
+
+        return pv;
+    }
+
+    /**
+     * @return principal variation of the best move, e.g. "D6-D5-1 D2-D3-1"
+     */
+    public String pvString() {
+        RootMove best = getBest();
+        if (best == null) return "";
+
+        StringBuilder line = new StringBuilder();
+        for (Move move : best.pv) {
+            if (line.length() > 0) line.append(' ');
+            line.append(move);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package GaT;
+
+/**
+ * Thrown to unwind the search once it has to stop (time up or stop requested).
+ *
+ * A single preallocated instance without stack trace is used: capturing a
+ * trace deep in the recursion costs more than the rest of the abort, and the
+ * trace carries no information anyway.
+ */
+public final class SearchAbortedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    static final SearchAbortedException INSTANCE = new SearchAbortedException();
+
+    private SearchAbortedException() {
+        super("Timeout", null, false, false);
+    }
+}
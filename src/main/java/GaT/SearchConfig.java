@@ -0,0 +1,135 @@
+package GaT;
+
+/**
+ * Tuning parameters of the search.
+ *
+ * A config is immutable; the with-methods return a changed copy. Every
+ * {@link SearchContext} holds its own config, so an engine that is tuned
+ * does not change the searches running in other threads, e.g. the other
+ * games of a self-play run.
+ */
+public final class SearchConfig {
+
+    public static final SearchConfig DEFAULT = new SearchConfig(true, lmrTable(0.75, 2.25),
+            futilityMargins(2.0), futilityMargins(3.0), 2, true);
+
+    // === NULL MOVE PRUNING ===
+    final boolean nullMoveVerification;      // Null-move cutoffs from NULL_MOVE_VERIFY_DEPTH on are verified
+
+    // === LATE MOVE REDUCTIONS ===
+    // LMR_TABLE[depth][moveIndex] = base + ln(depth) * ln(moveIndex) / divisor, precomputed
+    private static final int LMR_TABLE_SIZE = 64;
+    private final int[][] lmrTable;
+
+    // === FUTILITY PRUNING ===
+    // Margins per remaining depth (index = depth), factor * depth * MATERIAL_VALUE
+    static final int FUTILITY_MAX_DEPTH = 3;
+    private final int[] futilityMargin;
+    private final int[] reverseFutilityMargin;
+
+    // === QUIESCENCE ===
+    // Quiescence plies that also search guard threats and evasions and answer an
+    // attacked guard instead of standing pat; deeper plies search captures only
+    final int guardThreatPlies;
+    // Probe and store the quiescence table; off when the main table already covers these positions
+    final boolean useQuiescenceTable;
+
+    private SearchConfig(boolean nullMoveVerification, int[][] lmrTable, int[] futilityMargin,
+                         int[] reverseFutilityMargin, int guardThreatPlies, boolean useQuiescenceTable) {
+        this.nullMoveVerification = nullMoveVerification;
+        this.lmrTable = lmrTable;
+        this.futilityMargin = futilityMargin;
+        this.reverseFutilityMargin = reverseFutilityMargin;
+        this.guardThreatPlies = guardThreatPlies;
+        this.useQuiescenceTable = useQuiescenceTable;
+    }
+
+    public SearchConfig withNullMoveVerification(boolean verify) {
+        return new SearchConfig(verify, lmrTable, futilityMargin, reverseFutilityMargin, guardThreatPlies,
+                useQuiescenceTable);
+    }
+
+    /**
+     * @return copy with the LMR table rebuilt from base + ln(depth) * ln(moveIndex) / divisor
+     */
+    public SearchConfig withLmrParameters(double base, double divisor) {
+        return new SearchConfig(nullMoveVerification, lmrTable(base, divisor), futilityMargin, reverseFutilityMargin,
+                guardThreatPlies, useQuiescenceTable);
+    }
+
+    /**
+     * @param futilityFactor        quiet moves are skipped if eval + margin <= alpha
+     * @param reverseFutilityFactor the node is cut off if eval - margin >= beta
+     * @return copy with the margins set to factor * depth * MATERIAL_VALUE
+     */
+    public SearchConfig withFutilityMargins(double futilityFactor, double reverseFutilityFactor) {
+        return new SearchConfig(nullMoveVerification, lmrTable,
+                futilityMargins(futilityFactor), futilityMargins(reverseFutilityFactor), guardThreatPlies,
+                useQuiescenceTable);
+    }
+
+    /**
+     * @param plies quiescence plies with guard threats and evasions, 0 turns the threat mode off
+     */
+    public SearchConfig withGuardThreatPlies(int plies) {
+        if (plies < 0) {
+            throw new IllegalArgumentException("Guard threat plies must not be negative: " + plies);
+        }
+        return new SearchConfig(nullMoveVerification, lmrTable, futilityMargin, reverseFutilityMargin, plies,
+                useQuiescenceTable);
+    }
+
+    public SearchConfig withQuiescenceTable(boolean use) {
+        return new SearchConfig(nullMoveVerification, lmrTable, futilityMargin, reverseFutilityMargin,
+                guardThreatPlies, use);
+    }
+
+    public boolean isNullMoveVerification() {
+        return nullMoveVerification;
+    }
+
+    public int getGuardThreatPlies() {
+        return guardThreatPlies;
+    }
+
+    public boolean isQuiescenceTableUsed() {
+        return useQuiescenceTable;
+    }
+
+    /**
+     * @return plies a late move is reduced by, before the PV and minimum-depth adjustments
+     */
+    int lmrReduction(int depth, int moveIndex) {
+        return lmrTable[Math.min(depth, LMR_TABLE_SIZE - 1)][Math.min(moveIndex, LMR_TABLE_SIZE - 1)];
+    }
+
+    /**
+     * @param depth remaining depth, 1 to FUTILITY_MAX_DEPTH
+     */
+    int futilityMargin(int depth) {
+        return futilityMargin[depth];
+    }
+
+    int reverseFutilityMargin(int depth) {
+        return reverseFutilityMargin[depth];
+    }
+
+    private static int[] futilityMargins(double factor) {
+        int[] margins = new int[FUTILITY_MAX_DEPTH + 1];
+        for (int depth = 1; depth <= FUTILITY_MAX_DEPTH; depth++) {
+            margins[depth] = (int) Math.round(factor * depth * Minimax.MATERIAL_VALUE);
+        }
+        return margins;
+    }
+
+    private static int[][] lmrTable(double base, double divisor) {
+        int[][] table = new int[LMR_TABLE_SIZE][LMR_TABLE_SIZE];
+        for (int depth = 1; depth < LMR_TABLE_SIZE; depth++) {
+            for (int index = 1; index < LMR_TABLE_SIZE; index++) {
+                double reduction = base + Math.log(depth) * Math.log(index) / divisor;
+                table[depth][index] = Math.max(0, (int) reduction);
+            }
+        }
+        return table;
+    }
+}
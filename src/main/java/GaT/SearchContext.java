@@ -0,0 +1,272 @@
+package GaT;
+
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+import GaT.Objects.TTEntry;
+
+import java.util.HashMap;
+
+/**
+ * Mutable state of one engine instance: transposition tables, move ordering
+ * heuristics, timing and statistics.
+ *
+ * The search classes stay static; they work on the context bound to the
+ * current thread. Every thread gets its own context on first use, so the GUI
+ * and GameClient keep their behaviour, while the self-play runner binds a
+ * fresh context per game and can play many games in parallel.
+ */
+public class SearchContext {
+
+    private static final ThreadLocal<SearchContext> CURRENT = ThreadLocal.withInitial(SearchContext::new);
+
+    // === TUNING ===
+    // Replaced as a whole between searches, never changed in place
+    private volatile SearchConfig config = SearchConfig.DEFAULT;
+
+    // === TRANSPOSITION TABLES ===
+    final HashMap<Long, TTEntry> transpositionTable = new HashMap<>();
+    final QuiescenceTable qTable = new QuiescenceTable();
+
+    // === KILLER MOVES & PRINCIPAL VARIATION ===
+    static final int MAX_PLY = 128;
+    Move[][] killerMoves = new Move[MAX_PLY][2];     // Indexed by ply from the root
+    int killerAge = 0;
+    final Move[] pvLine = new Move[MAX_PLY];         // Indexed by ply from the root
+
+    // === HISTORY HEURISTIC ===
+    // Butterfly table history[side][from][to], side 0 = red, 1 = blue
+    final int[][][] history = new int[2][GameState.NUM_SQUARES][GameState.NUM_SQUARES];
+    // Follow-up history followUpHistory[side][to of own previous move][followUpSlot(move)].
+    // Every move stays on its rank or file, so a from square has only FOLLOW_UP_TARGETS
+    // destinations; indexing by slot instead of [from][to] needs a quarter of the memory.
+    static final int FOLLOW_UP_TARGETS = 2 * (GameState.BOARD_SIZE - 1);
+    final int[][][] followUpHistory = new int[2][GameState.NUM_SQUARES][GameState.NUM_SQUARES * FOLLOW_UP_TARGETS];
+    // Countermove: last quiet refutation of the opponent's move, counterMoves[side][from][to]
+    final Move[][][] counterMoves = new Move[2][GameState.NUM_SQUARES][GameState.NUM_SQUARES];
+    // Moves on the current search path; moveStack[ply] is the move played at ply, null for a null move
+    final Move[] moveStack = new Move[MAX_PLY];
+    // Extension state of the current line: carried fractional units and whole plies used so far
+    final int[] extensionUnits = new int[MAX_PLY + 1];
+    final int[] extensionsUsed = new int[MAX_PLY + 1];
+    // Move left out by a running singular-extension search at that ply
+    final Move[] excludedMove = new Move[MAX_PLY];
+
+    // === ATTACK MAP ===
+    // Attacks of the last position asked for, shared by evaluation, ordering and quiescence
+    final AttackMap attackMap = new AttackMap();
+
+    // === TIME MANAGEMENT ===
+    long remainingTimeMs = 180000;      // Game clock seen by the evaluation
+    long qRemainingTimeMs = 180000;     // Game clock seen by quiescence depth limits
+    long searchStartTime;
+    long timeLimitMillis;
+    private long deadlineNanos;
+    private boolean hasDeadline = false;
+
+    // === CANCELLATION ===
+    // The clock is only read every pollInterval nodes. The interval is calibrated
+    // from the measured node rate so that a poll happens about every POLL_PERIOD_NANOS.
+    static final int MIN_POLL_INTERVAL = 256;
+    static final int MAX_POLL_INTERVAL = 16384;
+    static final long POLL_PERIOD_NANOS = 500_000;   // 0.5ms keeps abort latency below 1ms
+    private volatile boolean stopRequested = false;
+    private int pollInterval = 1024;
+    private int nodesUntilPoll = pollInterval;
+    private long lastPollNanos = System.nanoTime();
+
+    // === ROOT SEARCH ===
+    int rootScore;
+
+    // === STATISTICS ===
+    public long nodes = 0;
+    public long qNodes = 0;
+    public long qCutoffs = 0;
+    public long standPatCutoffs = 0;
+    public long qTTHits = 0;
+    public long deltaPrunes = 0;
+    public long betaCutoffs = 0;
+    public long firstMoveCutoffs = 0;
+    public long aspirationSearches = 0;
+    public long aspirationFailHighs = 0;
+    public long aspirationFailLows = 0;
+
+    /** Console output of the search; batch runners switch it off */
+    public boolean verbose = true;
+
+    /**
+     * @return the context bound to the calling thread
+     */
+    public static SearchContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a context to the calling thread, e.g. one per self-play game
+     */
+    public static void bind(SearchContext context) {
+        CURRENT.set(context);
+    }
+
+    /**
+     * Drops the binding so pooled threads do not keep finished games alive
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    public SearchConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Sets the tuning parameters of this engine only; takes effect at the next search node
+     */
+    public void setConfig(SearchConfig config) {
+        // Quiescence entries are only valid for the threat plies they were searched with
+        if (config.guardThreatPlies != this.config.guardThreatPlies) {
+            qTable.clear();
+        }
+        this.config = config;
+    }
+
+    /**
+     * Halves all history scores so a new search keeps the trend but adapts quickly
+     */
+    void ageHistory() {
+        for (int[][] side : history) {
+            halve(side);
+        }
+        for (int[][] side : followUpHistory) {
+            halve(side);
+        }
+    }
+
+    /**
+     * @return index of the move in a follow-up history row: the from square's block,
+     *         then the destination file on the same rank or the destination rank on the same file
+     */
+    static int followUpSlot(Move move) {
+        int fromRank = GameState.rank(move.from), fromFile = GameState.file(move.from);
+        int toRank = GameState.rank(move.to), toFile = GameState.file(move.to);
+
+        int target;
+        if (toRank == fromRank) {
+            target = toFile < fromFile ? toFile : toFile - 1;
+        } else {
+            target = GameState.BOARD_SIZE - 1 + (toRank < fromRank ? toRank : toRank - 1);
+        }
+        return move.from * FOLLOW_UP_TARGETS + target;
+    }
+
+    private static void halve(int[][] table) {
+        for (int[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] /= 2;
+            }
+        }
+    }
+
+    /**
+     * Asks a running search to stop; safe to call from any thread.
+     * The search unwinds at its next poll and keeps the last completed result.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    /**
+     * Clears the stop flag before a new search
+     */
+    void resetStop() {
+        stopRequested = false;
+        restartPolling();
+    }
+
+    /**
+     * Restarts the node countdown and the rate measurement at the start of every
+     * search, so time spent between searches does not count as search time and
+     * shrink the calibrated interval. The interval itself is kept.
+     */
+    void restartPolling() {
+        nodesUntilPoll = pollInterval;
+        lastPollNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts the clock of a timed search and sets its deadline
+     */
+    void startTimedSearch(long timeMillis) {
+        timeLimitMillis = timeMillis;
+        searchStartTime = System.currentTimeMillis();
+        deadlineNanos = System.nanoTime() + timeMillis * 1_000_000L;
+        hasDeadline = true;
+        resetStop();
+    }
+
+    /**
+     * Removes the deadline so later fixed-depth searches are not aborted
+     */
+    void finishTimedSearch() {
+        hasDeadline = false;
+        resetStop();
+    }
+
+    /**
+     * @return true once the deadline of the running timed search has passed
+     */
+    boolean isPastDeadline() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Called once per search node. Only every pollInterval nodes the clock, the
+     * stop flag and thread interruption are looked at.
+     *
+     * @throws SearchAbortedException if the search has to stop
+     */
+    void checkAbort() {
+        if (--nodesUntilPoll > 0) return;
+
+        long now = System.nanoTime();
+        calibratePollInterval(now);
+        nodesUntilPoll = pollInterval;
+
+        if (stopRequested
+                || (hasDeadline && now - deadlineNanos >= 0)
+                || Thread.currentThread().isInterrupted()) {
+            stopRequested = true;
+            throw SearchAbortedException.INSTANCE;
+        }
+    }
+
+    /**
+     * Moves the poll interval halfway towards the node count that fits into
+     * POLL_PERIOD_NANOS at the speed measured since the previous poll
+     */
+    private void calibratePollInterval(long now) {
+        long elapsed = now - lastPollNanos;
+        lastPollNanos = now;
+        if (elapsed <= 0) return;
+
+        long target = pollInterval * POLL_PERIOD_NANOS / elapsed;
+        target = Math.max(MIN_POLL_INTERVAL, Math.min(MAX_POLL_INTERVAL, target));
+        pollInterval = (int) ((pollInterval + target) / 2);
+    }
+
+    /**
+     * @return nodes between two clock reads, as calibrated so far
+     */
+    public int getPollInterval() {
+        return pollInterval;
+    }
+
+    void log(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+}
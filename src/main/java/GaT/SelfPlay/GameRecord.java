@@ -0,0 +1,124 @@
+package GaT.SelfPlay;
+
+import GaT.Minimax;
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result and move list of one self-play game
+ */
+public class GameRecord {
+
+    public static final String RED_WINS = "1-0";
+    public static final String BLUE_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+
+    public final int gameId;
+    public final String startFen;
+    public final Minimax.SearchStrategy strategy;
+    public final long moveTimeMs;
+    public final List<Move> moves = new ArrayList<>();
+
+    public String result = DRAW;
+    public String termination = "move limit";
+    public long durationMs;
+
+    public GameRecord(int gameId, String startFen, Minimax.SearchStrategy strategy, long moveTimeMs) {
+        this.gameId = gameId;
+        this.startFen = startFen;
+        this.strategy = strategy;
+        this.moveTimeMs = moveTimeMs;
+    }
+
+    /**
+     * Sets result and termination from a finished position
+     */
+    public void finish(GameState finalState) {
+        boolean redOnCastle = finalState.redGuard == GameState.bit(Minimax.BLUE_CASTLE_INDEX);
+        boolean blueOnCastle = finalState.blueGuard == GameState.bit(Minimax.RED_CASTLE_INDEX);
+
+        if (finalState.blueGuard == 0) {
+            result = RED_WINS;
+            termination = "guard captured";
+        } else if (finalState.redGuard == 0) {
+            result = BLUE_WINS;
+            termination = "guard captured";
+        } else if (redOnCastle) {
+            result = RED_WINS;
+            termination = "castle reached";
+        } else if (blueOnCastle) {
+            result = BLUE_WINS;
+            termination = "castle reached";
+        }
+    }
+
+    /**
+     * Side to move has no move left and loses
+     */
+    public void forfeit(GameState state) {
+        result = state.redToMove ? BLUE_WINS : RED_WINS;
+        termination = "no legal move";
+    }
+
+    /**
+     * PGN-like representation: tag pairs followed by numbered moves
+     */
+    public String toPgn() {
+        StringBuilder pgn = new StringBuilder();
+        pgn.append("[Event \"GaT self-play\"]\n");
+        pgn.append("[Game \"").append(gameId).append("\"]\n");
+        pgn.append("[Red \"").append(strategy).append("\"]\n");
+        pgn.append("[Blue \"").append(strategy).append("\"]\n");
+        pgn.append("[FEN \"").append(startFen).append("\"]\n");
+        pgn.append("[MoveTime \"").append(moveTimeMs).append("\"]\n");
+        pgn.append("[PlyCount \"").append(moves.size()).append("\"]\n");
+        pgn.append("[Termination \"").append(termination).append("\"]\n");
+        pgn.append("[Result \"").append(result).append("\"]\n\n");
+
+        boolean redStarts = startFen.endsWith("r");
+        int moveNumber = 1;
+        for (int ply = 0; ply < moves.size(); ply++) {
+            boolean redMove = (ply % 2 == 0) == redStarts;
+            if (redMove) {
+                pgn.append(moveNumber).append(". ");
+            } else if (ply == 0) {
+                pgn.append(moveNumber).append("... ");
+            }
+            pgn.append(moves.get(ply)).append(' ');
+            if (!redMove) moveNumber++;
+        }
+        pgn.append(result).append('\n');
+
+        return pgn.toString();
+    }
+
+    /**
+     * Positions of the game labelled with its result, one "FEN result" line each,
+     * as read by {@link GaT.Tuning.TexelTuner}
+     *
+     * @param start     position the moves were played from
+     * @param skipPlies leading plies left out, e.g. the random opening
+     */
+    public List<String> toLabelledPositions(GameState start, int skipPlies) {
+        List<String> lines = new ArrayList<>();
+        GameState state = start.copy();
+
+        for (int ply = 0; ply < moves.size(); ply++) {
+            if (ply >= skipPlies) {
+                lines.add(state.toFen() + " " + result);
+            }
+            state.applyMove(moves.get(ply));
+        }
+        return lines;
+    }
+
+    /**
+     * One line of the results file, see {@link SelfPlayRunner#CSV_HEADER}
+     */
+    public String toCsvLine() {
+        return gameId + "," + result + "," + moves.size() + "," + termination + "," + durationMs + "," + startFen;
+    }
+}
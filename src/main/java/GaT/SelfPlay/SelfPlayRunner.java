@@ -0,0 +1,204 @@
+package GaT.SelfPlay;
+
+import GaT.Minimax;
+import GaT.MoveGenerator;
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+import GaT.SearchContext;
+import GaT.TimedMinimax;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless AI vs AI runner for batch self-play.
+ *
+ * Games run in parallel on a bounded thread pool; every game binds its own
+ * {@link SearchContext}, so transposition tables, killers and statistics are
+ * never shared between games. Each game is written as a PGN-like log and a
+ * summary line is appended to results.csv. positions.txt collects the
+ * positions after the random opening with the game result, the input of the
+ * evaluation tuner.
+ *
+ * Usage: SelfPlayRunner [games] [threads] [moveTimeMs] [outputDir]
+ */
+public class SelfPlayRunner {
+
+    public static final String CSV_HEADER = "game,result,plies,termination,durationMs,startFen";
+
+    private static final String START_FEN = new GameState().toFen();
+    private static final int MAX_PLIES = 200;           // Same limit as the GUI AI match
+    private static final int RANDOM_OPENING_PLIES = 4;  // Varies the games, search itself is deterministic
+
+    private final int threads;
+    private final long moveTimeMs;
+    private final Minimax.SearchStrategy strategy;
+    private final Path outputDir;
+
+    // Engines of the games in progress, told to stop by stop()
+    private final Set<SearchContext> runningGames = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped = false;
+
+    public SelfPlayRunner(int threads, long moveTimeMs, Minimax.SearchStrategy strategy, Path outputDir) {
+        this.threads = threads;
+        this.moveTimeMs = moveTimeMs;
+        this.strategy = strategy;
+        this.outputDir = outputDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long moveTime = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+        Path outputDir = Paths.get(args.length > 3 ? args[3] : "selfplay");
+
+        SelfPlayRunner runner = new SelfPlayRunner(threads, moveTime, Minimax.SearchStrategy.PVS_Q, outputDir);
+        // Ctrl+C ends the running searches at once instead of waiting for the move time
+        Runtime.getRuntime().addShutdownHook(new Thread(runner::stop, "SelfPlay-Shutdown"));
+        List<GameRecord> records = runner.run(games);
+
+        int redWins = 0, blueWins = 0, draws = 0;
+        for (GameRecord record : records) {
+            switch (record.result) {
+                case GameRecord.RED_WINS -> redWins++;
+                case GameRecord.BLUE_WINS -> blueWins++;
+                default -> draws++;
+            }
+        }
+        System.out.println("=== Self-play finished: " + records.size() + " games ===");
+        System.out.println("Red wins: " + redWins + ", Blue wins: " + blueWins + ", Draws: " + draws);
+        System.out.println("Logs written to " + outputDir.toAbsolutePath());
+    }
+
+    /**
+     * Ends the run from any thread: running searches unwind at their next poll,
+     * no further moves or games are started. Unfinished games are not logged.
+     */
+    public void stop() {
+        stopped = true;
+        for (SearchContext context : runningGames) {
+            context.requestStop();
+        }
+    }
+
+    /**
+     * Plays the given number of games and writes their logs
+     */
+    public List<GameRecord> run(int games) throws IOException, InterruptedException {
+        Files.createDirectories(outputDir);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "SelfPlay-Worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        List<Future<GameRecord>> futures = new ArrayList<>();
+        for (int gameId = 1; gameId <= games; gameId++) {
+            final int id = gameId;
+            futures.add(pool.submit(() -> playGame(id)));
+        }
+
+        List<GameRecord> records = new ArrayList<>();
+        try (PrintWriter results = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("results.csv")));
+             PrintWriter positions = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("positions.txt")))) {
+            results.println(CSV_HEADER);
+
+            for (Future<GameRecord> future : futures) {
+                GameRecord record;
+                try {
+                    record = future.get();
+                } catch (ExecutionException e) {
+                    System.err.println("Self-play game failed: " + e.getCause());
+                    continue;
+                }
+                if (record == null) continue;    // Stopped before the game ended
+
+                records.add(record);
+                results.println(record.toCsvLine());
+                results.flush();
+                for (String line : record.toLabelledPositions(new GameState(), RANDOM_OPENING_PLIES)) {
+                    positions.println(line);
+                }
+                positions.flush();
+                Files.writeString(outputDir.resolve(String.format("game-%04d.pgn", record.gameId)), record.toPgn());
+                System.out.println("Game " + record.gameId + ": " + record.result + " (" + record.termination
+                        + ", " + record.moves.size() + " plies)");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return records;
+    }
+
+    /**
+     * Plays one game with a fresh engine context bound to the worker thread
+     *
+     * @return the finished game, or null if the run was stopped first
+     */
+    GameRecord playGame(int gameId) {
+        if (stopped) return null;
+
+        SearchContext context = new SearchContext();
+        context.verbose = false;
+        SearchContext.bind(context);
+        runningGames.add(context);
+
+        try {
+            long start = System.currentTimeMillis();
+            GameState state = new GameState();
+            Random random = new Random(gameId);
+            List<Move> opening = new ArrayList<>();
+
+            for (int ply = 0; ply < RANDOM_OPENING_PLIES && !Minimax.isGameOver(state); ply++) {
+                List<Move> moves = MoveGenerator.generateAllMoves(state);
+                if (moves.isEmpty()) break;
+                Move move = moves.get(random.nextInt(moves.size()));
+                state.applyMove(move);
+                opening.add(move);
+            }
+
+            GameRecord record = new GameRecord(gameId, START_FEN, strategy, moveTimeMs);
+            record.moves.addAll(opening);
+
+            while (!Minimax.isGameOver(state) && record.moves.size() < MAX_PLIES) {
+                if (MoveGenerator.generateAllMoves(state).isEmpty()) {
+                    record.forfeit(state);
+                    break;
+                }
+
+                Move move = TimedMinimax.findBestMoveWithStrategy(state, 99, moveTimeMs, strategy);
+                if (stopped) return null;
+                if (move == null) {
+                    record.forfeit(state);
+                    break;
+                }
+
+                state.applyMove(move);
+                record.moves.add(move);
+            }
+
+            if (Minimax.isGameOver(state)) {
+                record.finish(state);
+            }
+            record.durationMs = System.currentTimeMillis() - start;
+            return record;
+        } finally {
+            runningGames.remove(context);
+            SearchContext.unbind();
+        }
+    }
+}
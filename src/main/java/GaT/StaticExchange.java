@@ -0,0 +1,201 @@
+package GaT;
+
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+
+/**
+ * Static exchange evaluation (SEE) on the target square of a move.
+ *
+ * The exchange is played out with a swap list: both sides recapture with their
+ * least valuable attacker until one side runs out of attackers or stops because
+ * recapturing would lose material. Attackers are found from the occupancy
+ * bitboards along blocker-aware rays, following the tower rules: a tower moves
+ * exactly as many pieces as squares, so a tower at distance d attacks with d
+ * pieces, needs a height of at least d and may only take a stack of at most d
+ * pieces. The pieces left behind on the source square keep blocking the ray,
+ * a tower that moved completely frees it for the piece behind (x-ray).
+ *
+ * Values are MATERIAL_VALUE per piece, capturing a guard ends the game.
+ */
+public final class StaticExchange {
+
+    static final int PIECE_VALUE = Minimax.MATERIAL_VALUE;
+    static final int GUARD_VALUE = Minimax.WIN_SCORE;
+
+    private static final int MAX_SWAPS = 32;
+    private static final int NO_ATTACKER = -1;
+    private static final int GUARD_ATTACK = 0;   // Amount encoded for an attacking guard
+
+    private static final int[] RANK_STEP = {1, -1, 0, 0};
+    private static final int[] FILE_STEP = {0, 0, 1, -1};
+
+    private StaticExchange() {
+    }
+
+    /**
+     * @return material balance of the exchange started by move, from the mover's point of view
+     */
+    public static int see(GameState state, Move move) {
+        boolean red = state.redToMove;
+        int to = move.to;
+        long toBit = GameState.bit(to);
+
+        long enemyGuard = red ? state.blueGuard : state.redGuard;
+        if ((enemyGuard & toBit) != 0) {
+            return GUARD_VALUE;
+        }
+
+        // Working copy of the board, only the pieces that can still take part
+        long redTowers = state.redTowers;
+        long blueTowers = state.blueTowers;
+        long redGuard = state.redGuard;
+        long blueGuard = state.blueGuard;
+        int[] redHeights = state.redStackHeights.clone();
+        int[] blueHeights = state.blueStackHeights.clone();
+
+        int[] gain = new int[MAX_SWAPS];
+        gain[0] = victimValue(state, to, red);
+
+        // First move: the victim leaves the board, the mover takes its square
+        int occupantValue;
+        int occupantHeight;
+        boolean occupantIsGuard;
+        long fromBit = GameState.bit(move.from);
+        if (((red ? redGuard : blueGuard) & fromBit) != 0) {
+            if (red) redGuard = 0; else blueGuard = 0;
+            occupantValue = GUARD_VALUE;
+            occupantHeight = 1;
+            occupantIsGuard = true;
+        } else {
+            int[] ownHeights = red ? redHeights : blueHeights;
+            ownHeights[move.from] -= move.amountMoved;
+            if (ownHeights[move.from] <= 0) {
+                if (red) redTowers &= ~fromBit; else blueTowers &= ~fromBit;
+            }
+            occupantHeight = move.amountMoved + ownHeights[to];   // Stacking puts the own tower at stake too
+            occupantValue = occupantHeight * PIECE_VALUE;
+            occupantIsGuard = false;
+        }
+        redTowers &= ~toBit;
+        blueTowers &= ~toBit;
+
+        boolean side = !red;
+        int d = 0;
+        while (d + 1 < MAX_SWAPS) {
+            long occupied = redTowers | blueTowers | redGuard | blueGuard;
+            int attacker = side
+                    ? leastValuableAttacker(to, occupantHeight, occupied, redTowers, redGuard, redHeights)
+                    : leastValuableAttacker(to, occupantHeight, occupied, blueTowers, blueGuard, blueHeights);
+            if (attacker == NO_ATTACKER) break;
+
+            d++;
+            gain[d] = occupantValue - gain[d - 1];
+            if (occupantIsGuard) break;                                // Guard taken, the game is over
+            if (Math.max(-gain[d - 1], gain[d]) < 0) break;           // Neither side can improve anymore
+
+            int square = attacker >>> 3;
+            int amount = attacker & 7;
+            long squareBit = GameState.bit(square);
+            if (amount == GUARD_ATTACK) {
+                if (side) redGuard = 0; else blueGuard = 0;
+                occupantValue = GUARD_VALUE;
+                occupantHeight = 1;
+                occupantIsGuard = true;
+            } else {
+                int[] heights = side ? redHeights : blueHeights;
+                heights[square] -= amount;
+                if (heights[square] <= 0) {
+                    if (side) redTowers &= ~squareBit; else blueTowers &= ~squareBit;
+                }
+                occupantValue = amount * PIECE_VALUE;
+                occupantHeight = amount;
+            }
+            side = !side;
+        }
+
+        while (d > 0) {
+            gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+            d--;
+        }
+        return gain[0];
+    }
+
+    /**
+     * Threshold form of the exchange evaluation, see(move) >= threshold.
+     * Cheap bounds decide most captures without playing out the swap list:
+     * the result can never exceed the victim, and never falls below the victim
+     * minus the moving stack.
+     */
+    public static boolean seeAtLeast(GameState state, Move move, int threshold) {
+        boolean red = state.redToMove;
+        int victim = victimValue(state, move.to, red);
+        if (victim < threshold) return false;
+        if (victim == GUARD_VALUE) return true;
+
+        int moverValue = Minimax.isGuardMove(move, state)
+                ? GUARD_VALUE
+                : (move.amountMoved + (red ? state.redStackHeights : state.blueStackHeights)[move.to]) * PIECE_VALUE;
+        if (victim - moverValue >= threshold) return true;
+
+        return see(state, move) >= threshold;
+    }
+
+    /**
+     * @return value of the enemy piece on square, 0 for an empty or own square
+     */
+    static int victimValue(GameState state, int square, boolean red) {
+        long squareBit = GameState.bit(square);
+        if (((red ? state.blueGuard : state.redGuard) & squareBit) != 0) {
+            return GUARD_VALUE;
+        }
+        if (((red ? state.blueTowers : state.redTowers) & squareBit) == 0) {
+            return 0;
+        }
+        return (red ? state.blueStackHeights : state.redStackHeights)[square] * PIECE_VALUE;
+    }
+
+    /**
+     * Finds the cheapest capture of the stack on target: the nearest tower on a clear
+     * ray that is tall enough and moves enough pieces to take occupantHeight, else the guard.
+     *
+     * @return (square << 3) | amount, amount 0 for the guard, or NO_ATTACKER
+     */
+    private static int leastValuableAttacker(int target, int occupantHeight, long occupied,
+                                             long towers, long guard, int[] heights) {
+        int rank = GameState.rank(target);
+        int file = GameState.file(target);
+        int best = NO_ATTACKER;
+        int bestAmount = Integer.MAX_VALUE;
+
+        for (int dir = 0; dir < 4; dir++) {
+            for (int distance = 1; distance < GameState.BOARD_SIZE; distance++) {
+                int r = rank + RANK_STEP[dir] * distance;
+                int f = file + FILE_STEP[dir] * distance;
+                if (r < 0 || r >= GameState.BOARD_SIZE || f < 0 || f >= GameState.BOARD_SIZE) break;
+
+                int square = GameState.getIndex(r, f);
+                long squareBit = GameState.bit(square);
+                if ((occupied & squareBit) == 0) continue;
+
+                // First piece on the ray: only this one can reach the target
+                if ((towers & squareBit) != 0 && heights[square] >= distance
+                        && distance >= occupantHeight && distance < bestAmount) {
+                    best = square;
+                    bestAmount = distance;
+                }
+                break;
+            }
+        }
+        if (best != NO_ATTACKER) {
+            return (best << 3) | bestAmount;
+        }
+
+        if (guard != 0) {
+            int guardSquare = Long.numberOfTrailingZeros(guard);
+            if (Minimax.manhattanDistance(guardSquare, target) == 1) {
+                return (guardSquare << 3) | GUARD_ATTACK;
+            }
+        }
+        return NO_ATTACKER;
+    }
+}
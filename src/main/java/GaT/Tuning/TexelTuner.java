@@ -0,0 +1,273 @@
+package GaT.Tuning;
+
+import GaT.FeatureEvaluator;
+import GaT.Minimax;
+import GaT.Objects.GameState;
+import GaT.SearchContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Texel tuning of the evaluation weights over labelled positions.
+ *
+ * Every position is reduced once to its feature vector and game phase
+ * ({@link FeatureEvaluator#extract}). The score is linear in the weights, so
+ * the mean squared error between the game result and sigmoid(K * score) and
+ * its gradient are sums over the positions; they are computed in parallel
+ * chunks on all cores. K is fitted to the starting weights first, then the
+ * weights are optimised with Adam and written as a weight file the engine
+ * loads with -Dgat.weights=&lt;file&gt;.
+ *
+ * Input: one position per line, "&lt;FEN&gt; &lt;result&gt;" with the result from red's
+ * point of view as 1-0, 0-1, 1/2-1/2 or a number between 0 and 1, e.g. the
+ * positions.txt written by the SelfPlayRunner.
+ *
+ * Usage: TexelTuner &lt;positions&gt; [weightFile] [iterations] [threads]
+ */
+public class TexelTuner {
+
+    private static final double LEARNING_RATE = 1.0;   // Weights are in evaluation units
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+    private static final double EPSILON = 1e-8;
+    private static final int REPORT_INTERVAL = 50;
+
+    private final int[][] features;
+    private final int[] phases;
+    private final double[] results;
+    private final int threads;
+    private double k = 1.0 / 400;
+
+    public TexelTuner(List<GameState> positions, List<Double> labels, int threads) {
+        int size = positions.size();
+        this.features = new int[size][FeatureEvaluator.NUM_FEATURES];
+        this.phases = new int[size];
+        this.results = new double[size];
+        this.threads = threads;
+
+        for (int i = 0; i < size; i++) {
+            phases[i] = FeatureEvaluator.extract(positions.get(i), features[i]);
+            results[i] = labels.get(i);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: TexelTuner <positions> [weightFile] [iterations] [threads]");
+            return;
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args.length > 1 ? args[1] : "weights.txt");
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        SearchContext.current().verbose = false;
+
+        List<GameState> positions = new ArrayList<>();
+        List<Double> labels = new ArrayList<>();
+        load(input, positions, labels);
+        System.out.println("Loaded " + positions.size() + " positions from " + input);
+        if (positions.isEmpty()) return;
+
+        TexelTuner tuner = new TexelTuner(positions, labels, threads);
+        int[] tuned = tuner.tune(FeatureEvaluator.getWeights(), iterations);
+
+        FeatureEvaluator.saveWeights(output, tuned);
+        System.out.println("Weights written to " + output);
+        System.out.print(FeatureEvaluator.describeWeights(tuned));
+    }
+
+    /**
+     * Reads labelled positions; decided positions and malformed lines are skipped
+     */
+    public static void load(Path file, List<GameState> positions, List<Double> labels) throws IOException {
+        for (String line : Files.readAllLines(file)) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 3) continue;
+
+            try {
+                GameState state = GameState.fromFen(parts[0] + " " + parts[1]);
+                if (Minimax.isGameOver(state)) continue;
+                positions.add(state);
+                labels.add(parseResult(parts[2]));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping line '" + line + "': " + e.getMessage());
+            }
+        }
+    }
+
+    static double parseResult(String result) {
+        switch (result) {
+            case "1-0": return 1.0;
+            case "0-1": return 0.0;
+            case "1/2-1/2": return 0.5;
+            default:
+                double value = Double.parseDouble(result);
+                if (value < 0 || value > 1) throw new IllegalArgumentException("result out of range: " + result);
+                return value;
+        }
+    }
+
+    /**
+     * Fits K to the start weights, then runs Adam on the mean squared error
+     *
+     * @return rounded tuned weights
+     */
+    public int[] tune(int[] startWeights, int iterations) throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Tuner-Worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            double[] w = new double[startWeights.length];
+            for (int i = 0; i < w.length; i++) w[i] = startWeights[i];
+
+            k = fitK(pool, w);
+            System.out.printf("K = %.6f, start error = %.6f%n", k, error(pool, w));
+
+            double[] m = new double[w.length];
+            double[] v = new double[w.length];
+            for (int iteration = 1; iteration <= iterations; iteration++) {
+                double[] gradient = gradient(pool, w);
+                for (int i = 0; i < w.length; i++) {
+                    m[i] = BETA1 * m[i] + (1 - BETA1) * gradient[i];
+                    v[i] = BETA2 * v[i] + (1 - BETA2) * gradient[i] * gradient[i];
+                    double mHat = m[i] / (1 - Math.pow(BETA1, iteration));
+                    double vHat = v[i] / (1 - Math.pow(BETA2, iteration));
+                    w[i] -= LEARNING_RATE * mHat / (Math.sqrt(vHat) + EPSILON);
+                }
+
+                if (iteration % REPORT_INTERVAL == 0 || iteration == iterations) {
+                    System.out.printf("Iteration %d: error = %.6f%n", iteration, error(pool, w));
+                }
+            }
+
+            int[] tuned = new int[w.length];
+            for (int i = 0; i < w.length; i++) tuned[i] = (int) Math.round(w[i]);
+            return tuned;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Golden-section search for the K with the lowest error
+     */
+    private double fitK(ExecutorService pool, double[] w) throws InterruptedException, ExecutionException {
+        double low = 1e-5, high = 0.05;
+        double ratio = (Math.sqrt(5) - 1) / 2;
+
+        for (int i = 0; i < 40; i++) {
+            double a = high - ratio * (high - low);
+            double b = low + ratio * (high - low);
+            k = a;
+            double errorA = error(pool, w);
+            k = b;
+            double errorB = error(pool, w);
+            if (errorA < errorB) high = b; else low = a;
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * @return mean squared error of the given weights with the current K
+     */
+    double error(int[] weights) throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            double[] w = new double[weights.length];
+            for (int i = 0; i < w.length; i++) w[i] = weights[i];
+            return error(pool, w);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    double error(ExecutorService pool, double[] w) throws InterruptedException, ExecutionException {
+        double[] sum = parallelSum(pool, 1, (from, to, out) -> {
+            for (int p = from; p < to; p++) {
+                double diff = results[p] - sigmoid(score(p, w));
+                out[0] += diff * diff;
+            }
+        });
+        return sum[0] / results.length;
+    }
+
+    /**
+     * @return derivative of the mean squared error by every weight
+     */
+    double[] gradient(ExecutorService pool, double[] w) throws InterruptedException, ExecutionException {
+        int n = FeatureEvaluator.NUM_FEATURES;
+        double[] sum = parallelSum(pool, 2 * n, (from, to, out) -> {
+            for (int p = from; p < to; p++) {
+                double s = sigmoid(score(p, w));
+                double common = -2 * (results[p] - s) * s * (1 - s) * k;
+                double mgShare = (double) phases[p] / FeatureEvaluator.PHASE_MAX;
+                for (int f = 0; f < n; f++) {
+                    double d = common * features[p][f];
+                    out[f] += d * mgShare;
+                    out[n + f] += d * (1 - mgShare);
+                }
+            }
+        });
+        for (int i = 0; i < sum.length; i++) sum[i] /= results.length;
+        return sum;
+    }
+
+    private double score(int position, double[] w) {
+        int n = FeatureEvaluator.NUM_FEATURES;
+        double mg = 0, eg = 0;
+        for (int f = 0; f < n; f++) {
+            mg += features[position][f] * w[f];
+            eg += features[position][f] * w[n + f];
+        }
+        return (mg * phases[position] + eg * (FeatureEvaluator.PHASE_MAX - phases[position])) / FeatureEvaluator.PHASE_MAX;
+    }
+
+    private double sigmoid(double score) {
+        return 1 / (1 + Math.exp(-k * score));
+    }
+
+    private interface ChunkSum {
+        void add(int from, int to, double[] out);
+    }
+
+    /**
+     * Splits the positions into one chunk per thread and adds up the partial sums
+     */
+    private double[] parallelSum(ExecutorService pool, int width, ChunkSum chunkSum)
+            throws InterruptedException, ExecutionException {
+        int size = results.length;
+        int chunk = (size + threads - 1) / threads;
+
+        List<Future<double[]>> futures = new ArrayList<>();
+        for (int from = 0; from < size; from += chunk) {
+            int start = from;
+            int end = Math.min(size, from + chunk);
+            futures.add(pool.submit(() -> {
+                double[] out = new double[width];
+                chunkSum.add(start, end, out);
+                return out;
+            }));
+        }
+
+        double[] total = new double[width];
+        for (Future<double[]> future : futures) {
+            double[] part = future.get();
+            for (int i = 0; i < width; i++) total[i] += part[i];
+        }
+        return total;
+    }
+}
@@ -36,5 +36,42 @@ public class FenConverterUnitTests {
         assertTrue("Expected red to move", parsedR.redToMove);
     }
 
+    @Test
+    public void testStartPositionRoundTrip() {
+        GameState start = new GameState();
+        String fen = start.toFen();
+
+        assertEquals("Start position should be written in the standard notation",
+                "r1r11RG1r1r1/2r11r12/3r13/7/3b13/2b11b12/b1b11BG1b1b1 r", fen);
+        assertEquals("Start position should survive toFen and fromFen", start, GameState.fromFen(fen));
+    }
+
+    @Test
+    public void testTallStackRoundTrip() {
+        String[] fens = {
+                "3RG3/3r73/7/2b61b12/7/7/3BG3 b",
+                "r21RG2r21/7/1r14b1/7/3b43/1b25/3BG3 r",
+                "7/7/7/r7b75/7/7/RG5BG r"
+        };
+        for (String fen : fens) {
+            GameState state = GameState.fromFen(fen);
+            assertEquals("toFen should reproduce " + fen, fen, state.toFen());
+            assertEquals("fromFen(toFen) should give the same position for " + fen, state, GameState.fromFen(state.toFen()));
+        }
+    }
+
+    @Test
+    public void testTallStackParsing() {
+        GameState state = GameState.fromFen("3RG3/3r73/7/7/7/7/3BG3 r");
+        int d6 = GameState.getIndex(5, 3);
+        assertEquals("Expected height 7 at D6", 7, state.redStackHeights[d6]);
+        assertEquals("Expected nothing on E6", 0, state.redStackHeights[d6 + 1]);
+        assertEquals("Expected red material 7", 7, state.redMaterial);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTowerHeight() {
+        GameState.fromFen("3RG3/3r83/7/7/7/7/3BG3 r");
+    }
 
 }
@@ -0,0 +1,92 @@
+package GaT;
+
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AttackMapUnitTests {
+
+    @Test
+    public void testTowerRayStopsAtBlocker() {
+        // Red tower of height 4 on D4, blue tower on D6 blocks the ray towards D7
+        GameState state = GameState.fromFen("7/3b13/7/3r43/7/7/7 r");
+        AttackMap map = AttackMap.of(state);
+
+        assertTrue("D5 is in front of the blocker", map.isAttacked(GameState.getIndex(4, 3), true));
+        assertTrue("The blocking square D6 itself is attacked", map.isAttacked(GameState.getIndex(5, 3), true));
+        assertFalse("D7 lies behind the blocker", map.isAttacked(GameState.getIndex(6, 3), true));
+        assertTrue("D1 is within reach on the open ray", map.isAttacked(GameState.getIndex(0, 3), true));
+        assertFalse("The tower does not attack its own square", map.isAttacked(GameState.getIndex(3, 3), true));
+    }
+
+    @Test
+    public void testTowerRangeIsItsHeight() {
+        // Red tower of height 2 on A1
+        GameState state = GameState.fromFen("7/7/7/7/7/7/r26 r");
+        AttackMap map = AttackMap.of(state);
+
+        assertTrue("A3 is two steps away", map.isAttacked(GameState.getIndex(2, 0), true));
+        assertFalse("A4 is out of range", map.isAttacked(GameState.getIndex(3, 0), true));
+        assertTrue("C1 is two steps away", map.isAttacked(GameState.getIndex(0, 2), true));
+        assertFalse("D1 is out of range", map.isAttacked(GameState.getIndex(0, 3), true));
+        assertEquals("Blue has no pieces and attacks nothing", 0L, map.attacks(false));
+    }
+
+    @Test
+    public void testGuardAttacksOrthogonalNeighbours() {
+        GameState state = GameState.fromFen("7/7/7/3RG3/7/7/7 r");
+        AttackMap map = AttackMap.of(state);
+
+        long expected = GameState.bit(GameState.getIndex(4, 3)) | GameState.bit(GameState.getIndex(2, 3))
+                | GameState.bit(GameState.getIndex(3, 2)) | GameState.bit(GameState.getIndex(3, 4));
+        assertEquals("Guard on D4 should attack exactly C4, E4, D3 and D5", expected, map.attacks(true));
+    }
+
+    @Test
+    public void testGuardAttackedOnlyThroughOpenRay() {
+        GameState open = GameState.fromFen("7/3BG3/7/3r23/7/7/7 b");
+        assertTrue("Tower of height 2 on D4 reaches the guard on D6", AttackMap.of(open).isGuardAttacked(false));
+        assertTrue(AttackMap.isGuardAttacked(open, false));
+
+        GameState blocked = GameState.fromFen("7/3BG3/3b13/3r23/7/7/7 b");
+        assertFalse("Own tower on D5 shields the guard", AttackMap.of(blocked).isGuardAttacked(false));
+        assertFalse(AttackMap.isGuardAttacked(blocked, false));
+    }
+
+    @Test
+    public void testCachedMapFollowsThePosition() {
+        GameState state = GameState.fromFen("7/3BG3/7/3r23/7/7/7 b");
+        assertTrue(AttackMap.of(state).isGuardAttacked(false));
+
+        GameState blocked = GameState.fromFen("7/3BG3/3b13/3r23/7/7/7 b");
+        assertFalse("A map for another position must not be reused", AttackMap.of(blocked).isGuardAttacked(false));
+    }
+
+    @Test
+    public void testSquareTestMatchesMap() {
+        Random random = new Random(11);
+        for (int game = 0; game < 20; game++) {
+            GameState state = new GameState();
+            for (int ply = 0; ply < 40 && !Minimax.isGameOver(state); ply++) {
+                AttackMap map = AttackMap.of(state);
+                for (int square = 0; square < GameState.NUM_SQUARES; square++) {
+                    for (boolean red : new boolean[]{true, false}) {
+                        assertEquals("Square " + square + " in " + state.toFen(),
+                                map.isAttacked(square, red), AttackMap.isSquareAttacked(state, square, red));
+                    }
+                }
+                assertEquals(map.isGuardAttacked(true), AttackMap.isGuardAttacked(state, true));
+                assertEquals(map.isGuardAttacked(false), AttackMap.isGuardAttacked(state, false));
+
+                List<Move> moves = MoveGenerator.generateAllMoves(state);
+                if (moves.isEmpty()) break;
+                state.applyMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package GaT.Objects;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PieceSquareTablesUnitTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void restoreDefaults() {
+        PieceSquareTables.setDefaults();
+    }
+
+    private static int[] snapshot() {
+        int[] values = new int[2 * GameState.NUM_SQUARES * (PieceSquareTables.MAX_HEIGHT + 1)];
+        int i = 0;
+        for (boolean red : new boolean[]{true, false}) {
+            for (int square = 0; square < GameState.NUM_SQUARES; square++) {
+                values[i++] = PieceSquareTables.guard(red, square);
+                for (int height = 1; height <= PieceSquareTables.MAX_HEIGHT; height++) {
+                    values[i++] = PieceSquareTables.tower(red, square, height);
+                }
+            }
+        }
+        return values;
+    }
+
+    private Path write(String... lines) throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.write(file, Arrays.asList(lines));
+        return file;
+    }
+
+    /** Header followed by 7 rows, every square set to value */
+    private static List<String> table(String header, int value) {
+        List<String> lines = new ArrayList<>();
+        lines.add(header);
+        for (int row = 0; row < GameState.BOARD_SIZE; row++) {
+            lines.add(String.join(" ", Collections.nCopies(GameState.BOARD_SIZE, String.valueOf(value))));
+        }
+        return lines;
+    }
+
+    @Test
+    public void testSaveLoadRoundTrip() throws Exception {
+        int[] defaults = snapshot();
+        Path file = folder.newFile("pst.txt").toPath();
+        PieceSquareTables.save(file);
+
+        PieceSquareTables.load(write(table("guard red", 0).toArray(new String[0])));
+        assertEquals(0, PieceSquareTables.guard(true, GameState.getIndex(3, 3)));
+
+        PieceSquareTables.load(file);
+        assertArrayEquals("Saved tables should load back unchanged", defaults, snapshot());
+    }
+
+    @Test
+    public void testRowsStartAtRankSeven() throws Exception {
+        List<String> lines = table("guard blue", 0);
+        lines.set(1, "1 2 3 4 5 6 7");     // First row is rank 7
+        PieceSquareTables.load(write(lines.toArray(new String[0])));
+
+        assertEquals(1, PieceSquareTables.guard(false, GameState.getIndex(6, 0)));
+        assertEquals(7, PieceSquareTables.guard(false, GameState.getIndex(6, 6)));
+        assertEquals(0, PieceSquareTables.guard(false, GameState.getIndex(0, 0)));
+    }
+
+    @Test
+    public void testMissingTablesKeepTheirValues() throws Exception {
+        int[] before = snapshot();
+        int square = GameState.getIndex(3, 3);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# Only the red tower of height 2");
+        lines.addAll(table("tower red 2", 99));
+        PieceSquareTables.load(write(lines.toArray(new String[0])));
+
+        assertEquals(99, PieceSquareTables.tower(true, square, 2));
+        assertEquals("Other heights keep their values",
+                before[1 + square * (PieceSquareTables.MAX_HEIGHT + 1) + 2], PieceSquareTables.tower(true, square, 3));
+        assertEquals("Blue tables keep their values",
+                PieceSquareTables.tower(true, square, 3), PieceSquareTables.tower(false, square, 3));
+    }
+
+    @Test
+    public void testHeightAboveMaximumUsesTallestTable() {
+        int square = GameState.getIndex(3, 3);
+        assertEquals(PieceSquareTables.tower(true, square, PieceSquareTables.MAX_HEIGHT),
+                PieceSquareTables.tower(true, square, PieceSquareTables.MAX_HEIGHT + 3));
+        assertEquals("Empty square", 0, PieceSquareTables.tower(true, square, 0));
+    }
+
+    @Test
+    public void testMalformedFilesChangeNothing() throws Exception {
+        int[] before = snapshot();
+
+        List<String> tooFewRows = table("guard red", 5).subList(0, 5);
+        List<String> shortRow = table("guard red", 5);
+        shortRow.set(3, "1 2 3");
+        List<String> notANumber = table("guard red", 5);
+        notANumber.set(3, "1 2 3 x 5 6 7");
+
+        List<List<String>> malformed = List.of(
+                tooFewRows,
+                shortRow,
+                notANumber,
+                table("guard green", 5),
+                table("tower red 8", 5),
+                table("king red", 5),
+                List.of("guard"));
+
+        for (List<String> lines : malformed) {
+            // A valid table first, so a partly applied file would be noticed
+            List<String> file = new ArrayList<>(table("guard blue", 77));
+            file.addAll(lines);
+            try {
+                PieceSquareTables.load(write(file.toArray(new String[0])));
+                fail("Expected IllegalArgumentException for " + lines);
+            } catch (IllegalArgumentException expected) {
+                assertArrayEquals("No table should change for " + lines, before, snapshot());
+            }
+        }
+    }
+
+    @Test
+    public void testSetDefaultsRestoresTables() throws Exception {
+        int[] defaults = snapshot();
+        PieceSquareTables.load(write(table("guard red", 1).toArray(new String[0])));
+        assertNotEquals(defaults[0], PieceSquareTables.guard(true, 0));
+
+        PieceSquareTables.setDefaults();
+        assertArrayEquals(defaults, snapshot());
+    }
+}
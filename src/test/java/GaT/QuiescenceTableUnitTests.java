@@ -0,0 +1,87 @@
+package GaT;
+
+import GaT.Objects.TTEntry;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QuiescenceTableUnitTests {
+
+    // Four slots: hashes 0, 2 and 4 all fall into the first bucket of two
+    private static QuiescenceTable smallTable() {
+        return new QuiescenceTable(2);
+    }
+
+    private static TTEntry entry(int qDepth) {
+        return new TTEntry(0, -qDepth, TTEntry.EXACT, null);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        QuiescenceTable table = smallTable();
+        TTEntry stored = entry(1);
+        table.put(0, stored);
+
+        assertSame(stored, table.get(0));
+        assertNull("Other hash of the same bucket should miss", table.get(2));
+        assertNull("Empty bucket should miss", table.get(1));
+    }
+
+    @Test
+    public void testSameHashIsOverwritten() {
+        QuiescenceTable table = smallTable();
+        table.put(0, entry(1));
+        table.put(2, entry(1));
+        TTEntry newer = entry(3);
+        table.put(0, newer);
+
+        assertSame("Existing slot should be updated in place", newer, table.get(0));
+        assertNotNull("The other slot should be kept", table.get(2));
+    }
+
+    @Test
+    public void testDeeperQPlyIsReplacedFirst() {
+        QuiescenceTable table = smallTable();
+        table.put(0, entry(1));
+        table.put(2, entry(3));
+        table.put(4, entry(2));
+
+        assertNotNull(table.get(0));
+        assertNull("Entry from the deepest q-ply should be replaced", table.get(2));
+        assertNotNull(table.get(4));
+    }
+
+    @Test
+    public void testOlderGenerationIsReplacedFirst() {
+        QuiescenceTable table = smallTable();
+        table.put(0, entry(1));
+        table.newSearch();
+        table.put(2, entry(5));
+        table.put(4, entry(2));
+
+        assertNull("Entry of the previous search should be replaced despite its shallow q-ply", table.get(0));
+        assertNotNull(table.get(2));
+        assertNotNull(table.get(4));
+    }
+
+    @Test
+    public void testOldEntriesStayReadable() {
+        QuiescenceTable table = smallTable();
+        TTEntry stored = entry(1);
+        table.put(0, stored);
+        table.newSearch();
+
+        assertSame("Aging only changes the replacement order", stored, table.get(0));
+    }
+
+    @Test
+    public void testClear() {
+        QuiescenceTable table = smallTable();
+        table.put(0, entry(1));
+        table.put(1, entry(1));
+        table.clear();
+
+        assertNull(table.get(0));
+        assertNull(table.get(1));
+    }
+}
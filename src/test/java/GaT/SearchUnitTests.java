@@ -0,0 +1,74 @@
+package GaT;
+
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SearchUnitTests {
+
+    private SearchContext context;
+
+    @Before
+    public void bindContext() {
+        context = new SearchContext();
+        context.verbose = false;
+        SearchContext.bind(context);
+    }
+
+    @After
+    public void unbindContext() {
+        SearchContext.unbind();
+    }
+
+    @Test
+    public void testAllStrategiesFindTheWinInOne() {
+        // Red guard on D2 walks into the blue castle D1
+        GameState state = GameState.fromFen("BG6/7/7/7/7/3RG3/7 r");
+        Move win = new Move(GameState.getIndex(1, 3), GameState.getIndex(0, 3), 1);
+
+        for (Minimax.SearchStrategy strategy : Minimax.SearchStrategy.values()) {
+            assertEquals(strategy + " should play the winning move", win,
+                    Minimax.findBestMoveWithStrategy(state, 3, strategy));
+            assertEquals(strategy + " should score the win one ply away",
+                    Minimax.WIN_SCORE - 1, Minimax.getLastRootScore());
+        }
+    }
+
+    @Test
+    public void testWinScoredByDistance() {
+        // Two red guard moves are needed, the win is found on the third ply
+        GameState state = GameState.fromFen("BG6/7/7/7/3RG3/7/7 r");
+        Minimax.findBestMoveWithStrategy(state, 4, Minimax.SearchStrategy.PVS_Q);
+
+        int score = Minimax.getLastRootScore();
+        assertTrue("Expected a win score, got " + score, Minimax.isWinScore(score));
+        assertEquals("Win should be three plies away", 3, Minimax.winDistance(score));
+    }
+
+    @Test
+    public void testLossScoredFromBlueView() {
+        // Blue to move cannot stop the red guard one step before D1
+        GameState state = GameState.fromFen("BG6/7/7/7/7/3RG3/7 b");
+        Minimax.findBestMoveWithStrategy(state, 3, Minimax.SearchStrategy.PVS);
+
+        int score = Minimax.getLastRootScore();
+        assertEquals("Red wins after the blue move, two plies from the root", Minimax.WIN_SCORE - 2, score);
+    }
+
+    @Test
+    public void testSingularSearchLeavesNoExcludedMove() {
+        // Iterative deepening leaves the TT entries that trigger singular searches
+        GameState state = new GameState();
+        for (int depth = 1; depth <= 7; depth++) {
+            Minimax.findBestMoveWithStrategy(state, depth, Minimax.SearchStrategy.PVS_Q);
+        }
+
+        for (int ply = 0; ply < SearchContext.MAX_PLY; ply++) {
+            assertNull("Excluded move left behind at ply " + ply, context.excludedMove[ply]);
+        }
+    }
+}
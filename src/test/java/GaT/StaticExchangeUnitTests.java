@@ -0,0 +1,95 @@
+package GaT;
+
+import GaT.Objects.GameState;
+import GaT.Objects.Move;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StaticExchangeUnitTests {
+
+    private static final int PIECE = StaticExchange.PIECE_VALUE;
+
+    private static Move move(int fromRank, int fromFile, int toRank, int toFile, int amount) {
+        return new Move(GameState.getIndex(fromRank, fromFile), GameState.getIndex(toRank, toFile), amount);
+    }
+
+    @Test
+    public void testUndefendedCapture() {
+        GameState state = GameState.fromFen("7/7/3b13/3r13/7/7/7 r");
+        assertEquals("Taking an undefended piece wins it", PIECE, StaticExchange.see(state, move(3, 3, 4, 3, 1)));
+    }
+
+    @Test
+    public void testEvenTrade() {
+        // Blue tower of height 2 on D7 recaptures on D5 with two pieces
+        GameState state = GameState.fromFen("3b23/7/3b13/3r13/7/7/7 r");
+        assertEquals("One piece for one piece", 0, StaticExchange.see(state, move(3, 3, 4, 3, 1)));
+    }
+
+    @Test
+    public void testLosingCaptureWithTallStack() {
+        // Red moves two pieces from D3 onto D5, blue takes both back from D7
+        GameState state = GameState.fromFen("3b23/7/3b13/7/3r23/7/7 r");
+        Move capture = move(2, 3, 4, 3, 2);
+
+        assertEquals("Two pieces are lost for one", -PIECE, StaticExchange.see(state, capture));
+        assertFalse(StaticExchange.seeAtLeast(state, capture, 0));
+        assertTrue(StaticExchange.seeAtLeast(state, capture, -PIECE));
+    }
+
+    @Test
+    public void testXrayAttackerBehindMovedTower() {
+        // D4 moves completely, which opens the file for the tower of height 3 on D2
+        GameState state = GameState.fromFen("3b23/7/3b13/3r13/7/3r33/7 r");
+        assertEquals("Red wins the exchange through the x-ray recapture",
+                PIECE, StaticExchange.see(state, move(3, 3, 4, 3, 1)));
+    }
+
+    @Test
+    public void testRemainingPiecesKeepBlocking() {
+        // D4 moves one of its two pieces, the rest still blocks D2
+        GameState state = GameState.fromFen("3b23/7/3b13/3r23/7/3r33/7 r");
+        assertEquals("The tower on D2 cannot recapture through D4",
+                0, StaticExchange.see(state, move(3, 3, 4, 3, 1)));
+    }
+
+    @Test
+    public void testGuardCapture() {
+        GameState state = GameState.fromFen("7/7/3BG3/3r13/7/7/7 r");
+        Move capture = move(3, 3, 4, 3, 1);
+
+        assertEquals(StaticExchange.GUARD_VALUE, StaticExchange.see(state, capture));
+        assertTrue(StaticExchange.seeAtLeast(state, capture, StaticExchange.GUARD_VALUE));
+    }
+
+    @Test
+    public void testVictimValue() {
+        GameState state = GameState.fromFen("3b33/7/3BG3/3r13/7/7/7 r");
+
+        assertEquals("Stack of three", 3 * PIECE, StaticExchange.victimValue(state, GameState.getIndex(6, 3), true));
+        assertEquals("Enemy guard", StaticExchange.GUARD_VALUE, StaticExchange.victimValue(state, GameState.getIndex(4, 3), true));
+        assertEquals("Own tower", 0, StaticExchange.victimValue(state, GameState.getIndex(3, 3), true));
+        assertEquals("Empty square", 0, StaticExchange.victimValue(state, GameState.getIndex(0, 0), true));
+    }
+
+    @Test
+    public void testThresholdMatchesFullExchange() {
+        String[] fens = {
+                "7/7/3b13/3r13/7/7/7 r",
+                "3b23/7/3b13/3r13/7/7/7 r",
+                "3b23/7/3b13/7/3r23/7/7 r",
+                "3b23/7/3b13/3r13/7/3r33/7 r",
+        };
+        Move[] captures = {move(3, 3, 4, 3, 1), move(3, 3, 4, 3, 1), move(2, 3, 4, 3, 2), move(3, 3, 4, 3, 1)};
+
+        for (int i = 0; i < fens.length; i++) {
+            GameState state = GameState.fromFen(fens[i]);
+            int see = StaticExchange.see(state, captures[i]);
+            for (int threshold = -2 * PIECE; threshold <= 2 * PIECE; threshold += PIECE / 2) {
+                assertEquals(fens[i] + " at threshold " + threshold,
+                        see >= threshold, StaticExchange.seeAtLeast(state, captures[i], threshold));
+            }
+        }
+    }
+}
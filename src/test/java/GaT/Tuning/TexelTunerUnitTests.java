@@ -0,0 +1,108 @@
+package GaT.Tuning;
+
+import GaT.FeatureEvaluator;
+import GaT.Objects.GameState;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TexelTunerUnitTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void restoreWeights() {
+        FeatureEvaluator.resetWeights();
+    }
+
+    /**
+     * Start position with the first missing towers removed from one side, labelled as a win for the other side
+     */
+    private static String labelledPosition(int missing, boolean redMissing, boolean redToMove) {
+        GameState state = new GameState();
+        for (int i = 0; i < missing; i++) {
+            if (redMissing) {
+                int square = Long.numberOfTrailingZeros(state.redTowers);
+                state.redTowers &= ~GameState.bit(square);
+                state.redStackHeights[square] = 0;
+            } else {
+                int square = Long.numberOfTrailingZeros(state.blueTowers);
+                state.blueTowers &= ~GameState.bit(square);
+                state.blueStackHeights[square] = 0;
+            }
+        }
+        state.redToMove = redToMove;
+        return state.toFen() + " " + (redMissing ? "0-1" : "1-0");
+    }
+
+    private Path writeDataset() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int missing = 1; missing <= 3; missing++) {
+            for (boolean redToMove : new boolean[]{true, false}) {
+                lines.add(labelledPosition(missing, true, redToMove));
+                lines.add(labelledPosition(missing, false, redToMove));
+            }
+        }
+        lines.add("7/7 r 1-0");
+        Path file = folder.newFile("positions.txt").toPath();
+        Files.write(file, lines);
+        return file;
+    }
+
+    @Test
+    public void testLoadUsesFenNotation() throws Exception {
+        List<GameState> positions = new ArrayList<>();
+        List<Double> labels = new ArrayList<>();
+        TexelTuner.load(writeDataset(), positions, labels);
+
+        assertEquals("All well-formed lines should be loaded", 12, positions.size());
+        assertEquals("Red is missing one tower in the first position", 6, positions.get(0).redMaterial);
+        assertEquals("Blue has all towers in the first position", 7, positions.get(0).blueMaterial);
+        assertEquals("Red missing material should be labelled as a blue win", 0.0, labels.get(0), 0.0);
+        assertEquals("Blue missing material should be labelled as a red win", 1.0, labels.get(1), 0.0);
+    }
+
+    @Test
+    public void testParseResult() {
+        assertEquals(1.0, TexelTuner.parseResult("1-0"), 0.0);
+        assertEquals(0.0, TexelTuner.parseResult("0-1"), 0.0);
+        assertEquals(0.5, TexelTuner.parseResult("1/2-1/2"), 0.0);
+        assertEquals(0.25, TexelTuner.parseResult("0.25"), 0.0);
+    }
+
+    @Test
+    public void testTuningLowersErrorAndWeightsLoadBack() throws Exception {
+        List<GameState> positions = new ArrayList<>();
+        List<Double> labels = new ArrayList<>();
+        TexelTuner.load(writeDataset(), positions, labels);
+
+        // Without a material weight the dataset cannot be told apart
+        int[] start = FeatureEvaluator.getWeights();
+        start[FeatureEvaluator.MATERIAL] = 0;
+        start[FeatureEvaluator.NUM_FEATURES + FeatureEvaluator.MATERIAL] = 0;
+
+        TexelTuner tuner = new TexelTuner(positions, labels, 2);
+        int[] tuned = tuner.tune(start, 200);
+
+        double startError = tuner.error(start);
+        double tunedError = tuner.error(tuned);
+        assertTrue("Tuning should lower the error, was " + startError + " -> " + tunedError,
+                tunedError < startError);
+
+        Path weights = folder.newFile("weights.txt").toPath();
+        FeatureEvaluator.saveWeights(weights, tuned);
+        FeatureEvaluator.loadWeights(weights);
+        assertArrayEquals("Saved weights should load back unchanged, got " + Arrays.toString(FeatureEvaluator.getWeights()),
+                tuned, FeatureEvaluator.getWeights());
+    }
+}
@@ -96,17 +96,17 @@ public class MinimaxUnitTests {
 
     @Test
     public void testTowerThreatBonus() {
-        // Roter Turm (Höhe 4) bedroht blauen Wächter (Manhattan-Distanz genau 4)
-        GameState threatening = GameState.fromFen("7/7/7/3r43/7/7/BG4RG3 r");
+        // Roter Turm (Höhe 4) auf D5 bedroht den blauen Wächter auf D1 (Distanz genau 4, Linie frei)
+        GameState threatening = GameState.fromFen("RG6/7/3r43/7/7/7/3BG3 r");
 
-        // Roter Turm (Höhe 3) kann blauen Wächter nicht bedrohen (Distanz 6 > Höhe 3)
-        GameState notThreatening = GameState.fromFen("7/7/7/7/7/7/r34RG1BG1 r");
+        // Gleiches Material, aber der Wächter steht auf C1 außerhalb der Reichweite des Turms
+        GameState notThreatening = GameState.fromFen("RG6/7/3r43/7/7/7/2BG4 r");
 
         int evalThreat = Minimax.evaluate(threatening, 0);
         int evalNoThreat = Minimax.evaluate(notThreatening, 0);
 
         // Bedrohender Turm sollte Bonus bekommen
-        assertTrue("Threatening tower should have bonus",
+        assertTrue("Threatening tower should have bonus, got " + evalThreat + " vs " + evalNoThreat,
                 evalThreat > evalNoThreat + 50);
     }
 